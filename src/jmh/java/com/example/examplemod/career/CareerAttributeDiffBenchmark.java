@@ -0,0 +1,84 @@
+package com.example.examplemod.career;
+
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CareerService.applyAttributes 中的属性差集计算：同职业重复应用、切换职业（命中转换缓存）
+ * 以及旧数据/重载后逐项比对的路径。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CareerAttributeDiffBenchmark {
+    private static final int ATTRIBUTE_POOL = 16;
+
+    @Param({"2", "8", "16"})
+    public int attributesPerCareer;
+
+    private CareerCatalog catalog;
+    private CareerAttributePlan from;
+    private CareerAttributePlan to;
+    private String appliedCareer;
+    private List<String> appliedAttributes;
+    private List<String> legacyApplied;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ResourceLocation icon = new ResourceLocation("minecraft", "book");
+        List<CareerDefinition> defs = new ArrayList<>();
+        for (int c = 0; c < 2; c++) {
+            List<CareerDefinition.AttributeBonus> attrs = new ArrayList<>();
+            for (int i = 0; i < attributesPerCareer; i++) {
+                // 两个职业的属性错开一半，保证切换时既有保留也有需要重置的属性
+                int index = (i + c * attributesPerCareer / 2) % ATTRIBUTE_POOL;
+                attrs.add(new CareerDefinition.AttributeBonus(new ResourceLocation("minecraft", "generic.attr_" + index), i));
+            }
+            defs.add(new CareerDefinition("career_" + c, "Career " + c, "", icon, attrs, List.of()));
+        }
+        catalog = CareerCatalog.of(defs, false);
+        from = catalog.plan("career_0");
+        to = catalog.plan("career_1");
+
+        // 模拟从 NBT 读出的记录：内容相同但不是同一字符串实例
+        appliedCareer = new String(to.careerId());
+        List<String> applied = new ArrayList<>();
+        for (String id : to.idStrings()) {
+            applied.add(new String(id));
+        }
+        appliedAttributes = List.copyOf(applied);
+
+        // 旧格式记录：顺序与计划不一致，只能逐项比对
+        List<String> shuffled = new ArrayList<>(from.idStrings());
+        Collections.reverse(shuffled);
+        legacyApplied = shuffled;
+    }
+
+    @Benchmark
+    public boolean reapplySameCareer() {
+        return to.upToDate(appliedCareer, appliedAttributes);
+    }
+
+    @Benchmark
+    public ResourceLocation[] switchCareerCached() {
+        return catalog.staleAttributes(from.careerId(), from.idStrings(), to);
+    }
+
+    @Benchmark
+    public ResourceLocation[] legacyRecordDiff() {
+        return catalog.staleAttributes(null, legacyApplied, to);
+    }
+}
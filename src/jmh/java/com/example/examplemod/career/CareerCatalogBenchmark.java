@@ -0,0 +1,68 @@
+package com.example.examplemod.career;
+
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比哈希索引与原先线性扫描的职业查找开销，目录规模从 10 到 10000。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CareerCatalogBenchmark {
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    private CareerCatalog catalog;
+    private List<CareerDefinition> list;
+    private String[] lookups;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ResourceLocation icon = new ResourceLocation("minecraft", "book");
+        List<CareerDefinition> defs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            defs.add(new CareerDefinition("career_" + i, "Career " + i, "", icon, List.of(), List.of()));
+        }
+        catalog = CareerCatalog.of(defs, true);
+        list = List.copyOf(defs);
+
+        // 查询用的字符串与目录中的 ID 不是同一实例，模拟来自网络/NBT 的 ID
+        Random random = new Random(42);
+        lookups = new String[1024];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = new String("career_" + random.nextInt(size));
+        }
+    }
+
+    private String nextId() {
+        cursor = (cursor + 1) & (lookups.length - 1);
+        return lookups[cursor];
+    }
+
+    @Benchmark
+    public CareerDefinition indexedLookup() {
+        return catalog.get(nextId());
+    }
+
+    @Benchmark
+    public Optional<CareerDefinition> linearScan() {
+        String id = nextId();
+        return list.stream().filter(c -> c.id().equals(id)).findFirst();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.examplemod.career;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 职业配置的解析与校验（{@link CareerConfigReader}）在不同目录规模下的耗时。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CareerConfigReaderBenchmark {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String description = "这是一段用于基准测试的职业描述。".repeat(8);
+        StringBuilder sb = new StringBuilder(size * 512);
+        sb.append("{\n  \"lockAfterChoice\": true,\n  \"careers\": [\n");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(",\n");
+            }
+            sb.append("    {\"id\": \"career_").append(i).append("\", \"name\": \"职业 ").append(i)
+                    .append("\", \"description\": \"").append(description)
+                    .append("\", \"icon\": \"minecraft:iron_sword\", \"attributes\": [")
+                    .append("{\"id\": \"minecraft:generic.armor\", \"value\": 1.0}, ")
+                    .append("{\"id\": \"minecraft:generic.max_health\", \"value\": 4.0}, ")
+                    .append("{\"id\": \"forge:entity_reach\", \"value\": 0.5}], \"items\": [")
+                    .append("{\"id\": \"minecraft:bread\", \"count\": 8}, ")
+                    .append("{\"id\": \"minecraft:arrow\", \"count\": 24}]}");
+        }
+        sb.append("\n  ]\n}\n");
+        json = sb.toString();
+    }
+
+    @Benchmark
+    public CareerCatalog read() throws IOException {
+        return CareerConfigReader.read(new StringReader(json), message -> {});
+    }
+}
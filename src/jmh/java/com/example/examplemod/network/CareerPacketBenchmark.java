@@ -0,0 +1,139 @@
+package com.example.examplemod.network;
+
+import com.example.examplemod.network.CareerNetwork.CareerDataPacket;
+import com.example.examplemod.network.CareerNetwork.CareerDataPacket.CareerSnapshot;
+import com.example.examplemod.network.CareerNetwork.CareerIndexEntry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CareerDataPacket}、紧凑格式与分页格式（{@link CareerCatalogCodec}）的编码与解码开销。只使用 CareerDataPacket 本身，
+ * 不会初始化 CareerNetwork 的通道，因此无需启动 Forge。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CareerPacketBenchmark {
+    @Param({"10", "100", "500"})
+    public int size;
+
+    private CareerDataPacket packet;
+    private CareerDataPacket preEncoded;
+    private List<CareerSnapshot> careers;
+    private byte[] compact;
+    private byte[] contentHash;
+    private byte[] index;
+    private List<CareerSnapshot> firstPage;
+    private byte[] page;
+    private FriendlyByteBuf scratch;
+    private ByteBuf encoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        careers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            careers.add(new CareerSnapshot("career_" + i, "职业 " + i, "用于基准测试的职业描述。".repeat(4),
+                    new ResourceLocation("minecraft", "iron_sword"),
+                    List.of(new CareerDataPacket.AttributePair(new ResourceLocation("minecraft", "generic.armor"), 1.0),
+                            new CareerDataPacket.AttributePair(new ResourceLocation("minecraft", "generic.max_health"), 4.0),
+                            new CareerDataPacket.AttributePair(new ResourceLocation("forge", "entity_reach"), 0.5)),
+                    List.of(new CareerDataPacket.ItemStackEntry(new ResourceLocation("minecraft", "bread"), 8),
+                            new CareerDataPacket.ItemStackEntry(new ResourceLocation("minecraft", "arrow"), 24))));
+        }
+        packet = new CareerDataPacket(careers, "career_0");
+        preEncoded = CareerDataPacket.preEncoded(CareerDataPacket.encodeCareers(careers), "career_0");
+        compact = CareerCatalogCodec.encode(careers);
+        contentHash = CareerDataPacket.contentHash(preEncoded.encodedCareers());
+        index = CareerCatalogCodec.encodeIndex(careers, contentHash);
+        firstPage = List.copyOf(careers.subList(0, Math.min(CareerNetwork.PAGE_SIZE, size)));
+        page = CareerCatalogCodec.encodePage(firstPage);
+        scratch = new FriendlyByteBuf(Unpooled.buffer());
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        CareerDataPacket.encode(packet, buf);
+        encoded = buf;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scratch.release();
+        encoded.release();
+    }
+
+    @Benchmark
+    public int encode() {
+        scratch.clear();
+        CareerDataPacket.encode(packet, scratch);
+        return scratch.writerIndex();
+    }
+
+    /**
+     * 服务端实际路径：职业列表已按目录快照预先编码，每次发送只复制字节。
+     */
+    @Benchmark
+    public int encodePreEncoded() {
+        scratch.clear();
+        CareerDataPacket.encode(preEncoded, scratch);
+        return scratch.writerIndex();
+    }
+
+    @Benchmark
+    public CareerDataPacket decode() {
+        return CareerDataPacket.decode(new FriendlyByteBuf(encoded.duplicate()));
+    }
+
+    /**
+     * 紧凑格式（字符串表 + 压缩）的编码开销；每个目录快照只需执行一次。
+     */
+    @Benchmark
+    public byte[] encodeCompact() {
+        return CareerCatalogCodec.encode(careers);
+    }
+
+    @Benchmark
+    public List<CareerSnapshot> decodeCompact() {
+        return CareerCatalogCodec.decode(compact);
+    }
+
+    /**
+     * 分页格式的索引：进服或目录变化时发送的全部内容。
+     */
+    @Benchmark
+    public byte[] encodeIndex() {
+        return CareerCatalogCodec.encodeIndex(careers, contentHash);
+    }
+
+    @Benchmark
+    public List<CareerIndexEntry> decodeIndex() {
+        return CareerCatalogCodec.decodeIndex(index);
+    }
+
+    /**
+     * 单个详情页；服务端每页只编码一次，客户端每次翻到未缓存的页时解码。
+     */
+    @Benchmark
+    public byte[] encodePage() {
+        return CareerCatalogCodec.encodePage(firstPage);
+    }
+
+    @Benchmark
+    public List<CareerSnapshot> decodePage() {
+        return CareerCatalogCodec.decodePage(page);
+    }
+}
@@ -16,6 +16,7 @@ import net.minecraftforge.event.BuildCreativeModeTabContentsEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.fml.event.lifecycle.FMLLoadCompleteEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.registries.DeferredRegister;
 import net.minecraftforge.registries.ForgeRegistries;
@@ -58,12 +59,13 @@ public class ExampleMod
     {
         IEventBus modEventBus = context.getModEventBus();
 
-        // 加载职业配置、注册网络通道
-        CareerConfigManager.load();
+        // 后台加载职业配置（服务端即将启动时再等待结果）、注册网络通道
+        CareerConfigManager.loadAsync();
         CareerNetwork.register();
 
         // Register the commonSetup method for modloading
         modEventBus.addListener(this::commonSetup);
+        modEventBus.addListener(this::loadComplete);
 
         // Register the Deferred Register to the mod event bus so blocks get registered
         BLOCKS.register(modEventBus);
@@ -81,6 +83,12 @@ public class ExampleMod
         // 目前无额外公共初始化逻辑
     }
 
+    private void loadComplete(final FMLLoadCompleteEvent event)
+    {
+        // 所有模组的物品已注册完毕，允许后台校验职业配置中的物品引用
+        CareerConfigManager.onLoadComplete();
+    }
+
     // Add the example block item to the building blocks tab
     private void addCreative(BuildCreativeModeTabContentsEvent event)
     {
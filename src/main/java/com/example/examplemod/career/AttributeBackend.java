@@ -0,0 +1,35 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.fml.ModList;
+
+/**
+ * 职业属性加成的落地方式。启动时按已加载的模组选定一次（见 {@link #select()}），之后不再查询 ModList。
+ */
+public interface AttributeBackend {
+    /**
+     * 后端标识，参与属性计划指纹；更换后端后玩家会在下次应用时完整重新应用。
+     */
+    String id();
+
+    /**
+     * 设置玩家某属性的职业加成；属性不存在或不受支持时抛出 IllegalArgumentException。
+     */
+    void set(ServerPlayer player, ResourceLocation attribute, double value);
+
+    /**
+     * 撤销玩家某属性的职业加成；不存在或从未设置时静默忽略。
+     */
+    void reset(ServerPlayer player, ResourceLocation attribute);
+
+    static AttributeBackend select() {
+        if (ModList.get().isLoaded(PlayerAttributeApiBackend.MOD_ID)) {
+            ExampleMod.LOGGER.info("职业属性使用 {} 后端", PlayerAttributeApiBackend.MOD_ID);
+            return new PlayerAttributeApiBackend();
+        }
+        ExampleMod.LOGGER.info("未找到 {}，职业属性改用原版属性修饰符", PlayerAttributeApiBackend.MOD_ID);
+        return new VanillaAttributeBackend();
+    }
+}
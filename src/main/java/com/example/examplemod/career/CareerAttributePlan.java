@@ -0,0 +1,166 @@
+package com.example.examplemod.career;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 职业属性的预编译应用计划：去重后的属性 ID 与数值数组，加载配置时生成一次，
+ * 应用时只需顺序遍历，不再解析字符串或构建集合。
+ */
+public final class CareerAttributePlan {
+    private static final ResourceLocation[] NO_IDS = new ResourceLocation[0];
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String careerId;
+    private final ResourceLocation[] ids;
+    private final String[] idStrings;
+    private final double[] values;
+    private final Set<String> idStringSet;
+    private final List<String> idStringList;
+    private final long contentHash;
+
+    private CareerAttributePlan(String careerId, ResourceLocation[] ids, double[] values) {
+        this.careerId = careerId;
+        this.ids = ids;
+        this.values = values;
+        this.idStrings = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            idStrings[i] = ids[i].toString();
+        }
+        this.idStringSet = Set.of(idStrings);
+        this.idStringList = List.of(idStrings);
+        long hash = mix(FNV_OFFSET, careerId);
+        for (int i = 0; i < ids.length; i++) {
+            hash = mix(hash, idStrings[i]);
+            hash = mix(hash, Double.doubleToLongBits(values[i]));
+        }
+        this.contentHash = hash;
+    }
+
+    /**
+     * 同一属性重复出现时保留首次出现的位置、最后一次的数值，与逐条 setExtra 的结果一致。
+     */
+    static CareerAttributePlan compile(CareerDefinition def) {
+        Map<ResourceLocation, Double> merged = new LinkedHashMap<>();
+        for (CareerDefinition.AttributeBonus bonus : def.attributes()) {
+            merged.put(bonus.attributeId(), bonus.value());
+        }
+        ResourceLocation[] ids = new ResourceLocation[merged.size()];
+        double[] values = new double[merged.size()];
+        int i = 0;
+        for (Map.Entry<ResourceLocation, Double> entry : merged.entrySet()) {
+            ids[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+        return new CareerAttributePlan(def.id(), ids, values);
+    }
+
+    public String careerId() {
+        return careerId;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public ResourceLocation id(int index) {
+        return ids[index];
+    }
+
+    public String idString(int index) {
+        return idStrings[index];
+    }
+
+    public double value(int index) {
+        return values[index];
+    }
+
+    /**
+     * 属性 ID 字符串的不可变列表，按计划顺序排列，用于记录已应用的属性。
+     */
+    public List<String> idStrings() {
+        return idStringList;
+    }
+
+    public boolean containsId(String id) {
+        return idStringSet.contains(id);
+    }
+
+    /**
+     * 判断已存储的属性列表是否与本计划按顺序一致。
+     */
+    public boolean matches(List<String> stored) {
+        if (stored.size() != idStrings.length) {
+            return false;
+        }
+        for (int i = 0; i < idStrings.length; i++) {
+            if (!idStrings[i].equals(stored.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 玩家上次应用的职业与属性列表是否就是本计划，是则重复应用时无需重置任何属性。
+     */
+    boolean upToDate(String appliedCareer, List<String> applied) {
+        return careerId.equals(appliedCareer) && matches(applied);
+    }
+
+    /**
+     * 计划内容（职业 ID、属性 ID 与数值）与属性后端 ID 的 64 位指纹，记录在玩家数据中，
+     * 相同则说明上次应用的结果仍然有效。不会返回 0，0 表示从未记录。
+     */
+    public long fingerprint(String backendId) {
+        long hash = mix(contentHash, backendId);
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        // 分隔符，避免相邻字符串拼接产生相同结果
+        return (hash ^ 0xFFFF) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (value & 0xFF)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    /**
+     * 从 from 切换到 to 时需要重置的属性：from 中存在而 to 中不存在的部分。
+     */
+    static ResourceLocation[] staleBetween(CareerAttributePlan from, CareerAttributePlan to) {
+        if (from == to) {
+            return NO_IDS;
+        }
+        int count = 0;
+        ResourceLocation[] stale = new ResourceLocation[from.ids.length];
+        for (int i = 0; i < from.ids.length; i++) {
+            if (!to.idStringSet.contains(from.idStrings[i])) {
+                stale[count++] = from.ids[i];
+            }
+        }
+        if (count == 0) {
+            return NO_IDS;
+        }
+        if (count == stale.length) {
+            return stale;
+        }
+        ResourceLocation[] trimmed = new ResourceLocation[count];
+        System.arraycopy(stale, 0, trimmed, 0, count);
+        return trimmed;
+    }
+}
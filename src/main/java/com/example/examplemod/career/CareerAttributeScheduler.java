@@ -0,0 +1,95 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 职业属性的延迟应用：选择职业、克隆、重载等只把玩家标记为待应用，
+ * 同一 tick 内的多次请求合并为一次，在 tick 结束时按玩家当时的职业统一应用。只在主线程访问。
+ */
+@Mod.EventBusSubscriber(modid = ExampleMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class CareerAttributeScheduler {
+    // 待应用的玩家及是否需要忽略指纹强制应用，按标记顺序处理
+    private static final Map<UUID, Boolean> dirty = new LinkedHashMap<>();
+    private static long requested;
+    private static long applied;
+    private static long coalesced;
+
+    /**
+     * 累计统计：requested 为请求次数，applied 为实际应用次数，coalesced 为被合并掉的次数，pending 为当前待应用人数。
+     */
+    public record Stats(long requested, long applied, long coalesced, int pending) {}
+
+    private CareerAttributeScheduler() {}
+
+    /**
+     * 标记玩家在本 tick 结束时重新应用职业属性；force 会与已有标记合并。
+     */
+    static void markDirty(ServerPlayer player, boolean force) {
+        requested++;
+        Boolean previous = dirty.put(player.getUUID(), force);
+        if (previous != null) {
+            coalesced++;
+            if (previous) {
+                dirty.put(player.getUUID(), true);
+            }
+        }
+    }
+
+    /**
+     * 立即应用该玩家待处理的属性（如有），用于登出前与按时间预算计时的批量操作。
+     */
+    public static void flush(ServerPlayer player) {
+        Boolean force = dirty.remove(player.getUUID());
+        if (force != null) {
+            applied++;
+            CareerService.applyPending(player, force);
+        }
+    }
+
+    public static Stats stats() {
+        return new Stats(requested, applied, coalesced, dirty.size());
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || dirty.isEmpty()) {
+            return;
+        }
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return;
+        }
+        // 应用过程中可能再次标记（例如重置后重新提示），先取出本批
+        List<Map.Entry<UUID, Boolean>> batch = new ArrayList<>(dirty.entrySet());
+        dirty.clear();
+        for (Map.Entry<UUID, Boolean> entry : batch) {
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+            if (player != null) {
+                applied++;
+                CareerService.applyPending(player, entry.getValue());
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        dirty.clear();
+        requested = 0;
+        applied = 0;
+        coalesced = 0;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.UUID;
+
+/**
+ * 批量指派/重置职业：命令只负责排队，每个 tick 结束时在配置的时间预算
+ * （careers.json 中的 bulkTickBudgetMicros）内逐个处理，完成后向发起者汇报。
+ */
+@Mod.EventBusSubscriber(modid = ExampleMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class CareerBulkHandler {
+    private static final int PROGRESS_INTERVAL_TICKS = 40;
+    private static final Deque<BulkJob> jobs = new ArrayDeque<>();
+
+    private CareerBulkHandler() {}
+
+    /**
+     * 排队为目标玩家指派职业；careerId 为 null 时表示重置。返回排在此任务之前的任务数。
+     */
+    public static int submit(CommandSourceStack source, Collection<ServerPlayer> targets, String careerId) {
+        Deque<UUID> players = new ArrayDeque<>(targets.size());
+        for (ServerPlayer player : targets) {
+            players.add(player.getUUID());
+        }
+        int ahead = jobs.size();
+        jobs.add(new BulkJob(source, careerId, players, source.getServer().getTickCount()));
+        return ahead;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || jobs.isEmpty()) {
+            return;
+        }
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + CareerConfigManager.getCatalog().bulkTickBudgetMicros() * 1000L;
+        long tick = server.getTickCount();
+        boolean first = true;
+        while (!jobs.isEmpty()) {
+            BulkJob job = jobs.peek();
+            job.ticks++;
+            long jobStart = System.nanoTime();
+            // 每 tick 至少处理一名玩家，保证预算再小也能推进
+            while (!job.remaining.isEmpty() && (first || System.nanoTime() < deadline)) {
+                first = false;
+                job.step(server);
+            }
+            job.busyNanos += System.nanoTime() - jobStart;
+            if (!job.remaining.isEmpty()) {
+                if (tick - job.lastReportTick >= PROGRESS_INTERVAL_TICKS) {
+                    job.lastReportTick = tick;
+                    job.reportProgress();
+                }
+                return;
+            }
+            jobs.poll();
+            job.finish();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        jobs.clear();
+    }
+
+    private static final class BulkJob {
+        private final CommandSourceStack source;
+        private final String careerId;
+        private final Deque<UUID> remaining;
+        private final int total;
+        private final long startNanos = System.nanoTime();
+        private long lastReportTick;
+        private long busyNanos;
+        private int ticks;
+        private int changed;
+        private int unchanged;
+        private int offline;
+
+        BulkJob(CommandSourceStack source, String careerId, Deque<UUID> remaining, long submitTick) {
+            this.source = source;
+            this.careerId = careerId;
+            this.remaining = remaining;
+            this.total = remaining.size();
+            this.lastReportTick = submitTick;
+        }
+
+        void step(MinecraftServer server) {
+            ServerPlayer player = server.getPlayerList().getPlayer(remaining.poll());
+            if (player == null) {
+                offline++;
+                return;
+            }
+            boolean done = careerId == null ? CareerService.resetCareer(player) : CareerService.assignCareer(player, careerId);
+            // 立即应用，使属性开销计入本 tick 的时间预算
+            CareerAttributeScheduler.flush(player);
+            if (done) {
+                changed++;
+            } else {
+                unchanged++;
+            }
+        }
+
+        String label() {
+            return careerId == null ? "重置职业" : "指派职业 " + careerId;
+        }
+
+        void reportProgress() {
+            int processed = total - remaining.size();
+            source.sendSuccess(() -> Component.literal(label() + "：已处理 " + processed + "/" + total), false);
+        }
+
+        void finish() {
+            long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000L;
+            long busyMs = busyNanos / 1_000_000L;
+            ExampleMod.LOGGER.info("{}完成：共 {} 名玩家，生效 {}，无变化 {}，离线 {}；跨 {} tick，主线程耗时 {} ms，总耗时 {} ms",
+                    label(), total, changed, unchanged, offline, ticks, busyMs, elapsedMs);
+            source.sendSuccess(() -> Component.literal(label() + "完成：共 " + total + " 名玩家，生效 " + changed
+                    + "，无变化 " + unchanged + "，离线 " + offline + "；跨 " + ticks + " tick，主线程耗时 " + busyMs + " ms"), true);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.examplemod.career;
+
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 不可变的职业目录快照：保持配置中的顺序，同时按 ID 建立哈希索引。
+ * ID 在构建时统一 intern，查找为 O(1)，可在任意线程安全读取。
+ */
+public final class CareerCatalog {
+    /** 批量指派/重置每 tick 可用的默认时间预算（微秒）。 */
+    public static final int DEFAULT_BULK_TICK_BUDGET_MICROS = 2000;
+    public static final CareerCatalog EMPTY = new CareerCatalog(List.of(), Map.of(), Map.of(), true, DEFAULT_BULK_TICK_BUDGET_MICROS);
+
+    private final List<CareerDefinition> careers;
+    private final Map<String, CareerDefinition> byId;
+    private final Map<String, CareerAttributePlan> plans;
+    private final boolean lockAfterChoice;
+    private final int bulkTickBudgetMicros;
+    private final Map<Transition, ResourceLocation[]> transitions = new ConcurrentHashMap<>();
+    // 物品模板只在主线程的发布路径上生成一次，之后只读
+    private volatile Map<String, CareerKit> kits;
+
+    private CareerCatalog(List<CareerDefinition> careers, Map<String, CareerDefinition> byId,
+                          Map<String, CareerAttributePlan> plans, boolean lockAfterChoice, int bulkTickBudgetMicros) {
+        this.careers = careers;
+        this.byId = byId;
+        this.plans = plans;
+        this.lockAfterChoice = lockAfterChoice;
+        this.bulkTickBudgetMicros = bulkTickBudgetMicros;
+    }
+
+    /**
+     * 由已校验的定义列表构建快照；重复 ID 只保留第一个。
+     */
+    public static CareerCatalog of(List<CareerDefinition> definitions, boolean lockAfterChoice) {
+        return of(definitions, lockAfterChoice, DEFAULT_BULK_TICK_BUDGET_MICROS);
+    }
+
+    public static CareerCatalog of(List<CareerDefinition> definitions, boolean lockAfterChoice, int bulkTickBudgetMicros) {
+        if (definitions.isEmpty()) {
+            return lockAfterChoice && bulkTickBudgetMicros == DEFAULT_BULK_TICK_BUDGET_MICROS ? EMPTY
+                    : new CareerCatalog(List.of(), Map.of(), Map.of(), lockAfterChoice, bulkTickBudgetMicros);
+        }
+        List<CareerDefinition> ordered = new ArrayList<>(definitions.size());
+        Map<String, CareerDefinition> index = new HashMap<>(definitions.size() * 2);
+        Map<String, CareerAttributePlan> plans = new HashMap<>(definitions.size() * 2);
+        for (CareerDefinition def : definitions) {
+            String id = def.id().intern();
+            if (index.containsKey(id)) {
+                continue;
+            }
+            CareerDefinition interned = id == def.id() ? def : new CareerDefinition(id, def.name(), def.description(),
+                    def.iconItem(), def.attributes(), def.startingItems());
+            index.put(id, interned);
+            plans.put(id, CareerAttributePlan.compile(interned));
+            ordered.add(interned);
+        }
+        return new CareerCatalog(List.copyOf(ordered), Map.copyOf(index), Map.copyOf(plans), lockAfterChoice, bulkTickBudgetMicros);
+    }
+
+    public List<CareerDefinition> careers() {
+        return careers;
+    }
+
+    /**
+     * 按 ID 查找职业，不存在时返回 null。
+     */
+    public CareerDefinition get(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    /**
+     * 职业的预编译属性计划，不存在时返回 null。
+     */
+    public CareerAttributePlan plan(String id) {
+        return id == null ? null : plans.get(id);
+    }
+
+    /**
+     * 计算切换到 next 时需要重置的属性，applied 为上次记录的职业与属性列表。
+     * 记录与上次应用的计划一致时直接取按职业对缓存的差集；否则（旧数据，或重载后计划已变）逐项比对。
+     */
+    public ResourceLocation[] staleAttributes(String appliedCareer, List<String> applied, CareerAttributePlan next) {
+        CareerAttributePlan previous = plan(appliedCareer);
+        if (previous != null && previous.matches(applied)) {
+            return staleAttributes(previous, next);
+        }
+        List<ResourceLocation> stale = new ArrayList<>();
+        for (String raw : applied) {
+            if (!next.containsId(raw)) {
+                ResourceLocation id = ResourceLocation.tryParse(raw);
+                if (id != null) {
+                    stale.add(id);
+                }
+            }
+        }
+        return stale.toArray(new ResourceLocation[0]);
+    }
+
+    private ResourceLocation[] staleAttributes(CareerAttributePlan from, CareerAttributePlan to) {
+        if (from == to) {
+            return CareerAttributePlan.staleBetween(from, to);
+        }
+        return transitions.computeIfAbsent(new Transition(from.careerId(), to.careerId()),
+                key -> CareerAttributePlan.staleBetween(from, to));
+    }
+
+    /**
+     * 职业的初始物品模板，由发布快照时的 {@link #resolveKits()} 生成；不会在调用线程上构建 ItemStack。
+     */
+    public CareerKit kit(CareerDefinition def) {
+        Map<String, CareerKit> resolved = kits;
+        if (resolved == null) {
+            throw new IllegalStateException("职业物品模板尚未在主线程生成");
+        }
+        CareerKit kit = resolved.get(def.id());
+        if (kit == null) {
+            throw new IllegalArgumentException("职业不属于该快照: " + def.id());
+        }
+        return kit;
+    }
+
+    /**
+     * 为全部职业生成物品模板，需在注册表冻结后、于主线程调用；已生成时直接返回。
+     */
+    public void resolveKits() {
+        if (kits != null) {
+            return;
+        }
+        Map<String, CareerKit> resolved = new HashMap<>(careers.size() * 2);
+        for (CareerDefinition def : careers) {
+            resolved.put(def.id(), CareerKit.resolve(def));
+        }
+        kits = Map.copyOf(resolved);
+    }
+
+    public boolean contains(String id) {
+        return get(id) != null;
+    }
+
+    public int size() {
+        return careers.size();
+    }
+
+    public boolean lockAfterChoice() {
+        return lockAfterChoice;
+    }
+
+    public int bulkTickBudgetMicros() {
+        return bulkTickBudgetMicros;
+    }
+
+    private record Transition(String from, String to) {}
+}
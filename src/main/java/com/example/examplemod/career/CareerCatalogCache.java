@@ -0,0 +1,183 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.resources.ResourceLocation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 已校验职业目录的二进制缓存，存放在 careers.json 旁，以源文件内容的 SHA-256 作为键。
+ * 命中时一次性读入堆内存直接还原，无需重新解析 JSON；不匹配或损坏时视为未命中。
+ * 不使用内存映射：映射在 GC 前不会释放，Windows 上会阻止下次写入时替换文件。
+ * 缓存内容是注册表校验之前的结果，物品引用仍会在模组加载完成后重新检查。
+ */
+final class CareerCatalogCache {
+    private static final int MAGIC = 0x43414352; // "CACR"
+    private static final int FORMAT = 2;
+    private static final int HASH_LENGTH = 32;
+    // 各类条目编码后的最小字节数，用于在分配列表前校验数量
+    private static final int MIN_CAREER_BYTES = 4 * 4 + 4 + 4;
+    private static final int MIN_ATTRIBUTE_BYTES = 4 + 8;
+    private static final int MIN_ITEM_BYTES = 4 + 4;
+
+    private CareerCatalogCache() {}
+
+    static byte[] hash(Path source) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(source)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * 读取缓存，哈希不一致、格式不符或文件损坏时返回 null。
+     */
+    static CareerCatalog read(Path cachePath, byte[] sourceHash) {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(cachePath));
+            if (buf.getInt() != MAGIC || buf.getInt() != FORMAT) {
+                return null;
+            }
+            byte[] hash = new byte[HASH_LENGTH];
+            buf.get(hash);
+            if (!Arrays.equals(hash, sourceHash)) {
+                return null;
+            }
+            boolean lockAfterChoice = buf.get() != 0;
+            int bulkTickBudgetMicros = buf.getInt();
+            int count = readCount(buf, MIN_CAREER_BYTES);
+            List<CareerDefinition> careers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String id = readString(buf);
+                String name = readString(buf);
+                String description = readString(buf);
+                ResourceLocation icon = readLocation(buf);
+                int attrCount = readCount(buf, MIN_ATTRIBUTE_BYTES);
+                List<CareerDefinition.AttributeBonus> attrs = new ArrayList<>(attrCount);
+                for (int j = 0; j < attrCount; j++) {
+                    attrs.add(new CareerDefinition.AttributeBonus(readLocation(buf), buf.getDouble()));
+                }
+                int itemCount = readCount(buf, MIN_ITEM_BYTES);
+                List<CareerDefinition.StartingItem> items = new ArrayList<>(itemCount);
+                for (int j = 0; j < itemCount; j++) {
+                    items.add(new CareerDefinition.StartingItem(readLocation(buf), buf.getInt()));
+                }
+                careers.add(new CareerDefinition(id, name, description, icon, List.copyOf(attrs), List.copyOf(items)));
+            }
+            return CareerCatalog.of(careers, lockAfterChoice, bulkTickBudgetMicros);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            ExampleMod.LOGGER.warn("职业配置缓存损坏，将重新解析 JSON: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 写入缓存：先写临时文件再原子替换，失败只记录日志。
+     */
+    static void write(Path cachePath, byte[] sourceHash, CareerCatalog catalog) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + catalog.size() * 256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.write(sourceHash);
+            out.writeBoolean(catalog.lockAfterChoice());
+            out.writeInt(catalog.bulkTickBudgetMicros());
+            out.writeInt(catalog.size());
+            for (CareerDefinition def : catalog.careers()) {
+                writeString(out, def.id());
+                writeString(out, def.name());
+                writeString(out, def.description());
+                writeString(out, def.iconItem().toString());
+                out.writeInt(def.attributes().size());
+                for (CareerDefinition.AttributeBonus attr : def.attributes()) {
+                    writeString(out, attr.attributeId().toString());
+                    out.writeDouble(attr.value());
+                }
+                out.writeInt(def.startingItems().size());
+                for (CareerDefinition.StartingItem item : def.startingItems()) {
+                    writeString(out, item.itemId().toString());
+                    out.writeInt(item.count());
+                }
+            }
+            out.flush();
+
+            Path temp = cachePath.resolveSibling(cachePath.getFileName() + ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            try {
+                Files.move(temp, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, cachePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            ExampleMod.LOGGER.warn("写入职业配置缓存失败", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    /**
+     * 读取条目数量，并确认剩余字节至少能容纳这么多条目，避免损坏的数量导致巨量分配。
+     */
+    private static int readCount(ByteBuffer buf, int minBytesEach) {
+        int count = buf.getInt();
+        if (count < 0 || count > buf.remaining() / minBytesEach) {
+            throw new IllegalArgumentException("invalid entry count " + count);
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0 || length > buf.remaining()) {
+            throw new IllegalArgumentException("invalid string length " + length);
+        }
+        byte[] utf8 = new byte[length];
+        buf.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static ResourceLocation readLocation(ByteBuffer buf) {
+        String raw = readString(buf);
+        ResourceLocation id = ResourceLocation.tryParse(raw);
+        if (id == null) {
+            throw new IllegalArgumentException("invalid resource location " + raw);
+        }
+        return id;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
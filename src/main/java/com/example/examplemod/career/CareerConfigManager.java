@@ -5,21 +5,24 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
 import com.google.gson.annotations.SerializedName;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.fml.loading.FMLPaths;
 import net.minecraftforge.registries.ForgeRegistries;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * 负责读取/写入职业配置，若文件缺失会自动写入默认示例。
@@ -27,28 +30,140 @@ import java.util.Optional;
 public final class CareerConfigManager {
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final Path CONFIG_PATH = FMLPaths.CONFIGDIR.get().resolve(ExampleMod.MODID).resolve("careers.json");
+    private static final Path CACHE_PATH = CONFIG_PATH.resolveSibling("careers.cache");
 
-    private static List<CareerDefinition> cached = List.of();
-    private static boolean lockAfterChoice = true;
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Career Config Loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile CareerCatalog catalog = CareerCatalog.EMPTY;
+    private static volatile CompletableFuture<CareerCatalog> pendingLoad;
+    private static final CompletableFuture<Void> loadComplete = new CompletableFuture<>();
+    private static long loadStartNanos;
 
     private CareerConfigManager() {}
 
-    public static void load() {
-        ensureDefaultFile();
-        cached = readConfig();
-        ExampleMod.LOGGER.info("已加载 {} 个职业定义", cached.size());
+    /**
+     * 在模组构造阶段调用：立即在后台线程读取并解析配置，物品注册表校验推迟到
+     * {@link #onLoadComplete()} 之后进行，结果在 {@link #awaitLoaded()} 时发布。
+     */
+    public static void loadAsync() {
+        loadStartNanos = System.nanoTime();
+        CompletableFuture<CareerCatalog> parsed = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            ensureDefaultFile();
+            CareerCatalog result = readConfig();
+            ExampleMod.LOGGER.info("职业配置解析完成：{} 个职业，后台耗时 {} ms", result.size(), millisSince(start));
+            return result;
+        }, LOADER);
+        pendingLoad = parsed.thenCombineAsync(loadComplete, (result, ignored) -> {
+            long start = System.nanoTime();
+            CareerCatalog resolved = resolveRegistryReferences(result);
+            ExampleMod.LOGGER.info("职业物品注册表校验完成，后台耗时 {} ms", millisSince(start));
+            return resolved;
+        }, LOADER);
+    }
+
+    /**
+     * 模组加载完成事件时调用，放行后台的物品校验。此时各模组的物品均已注册（注册表在其后才冻结），
+     * 按 ID 查询物品是安全的。
+     */
+    public static void onLoadComplete() {
+        loadComplete.complete(null);
+    }
+
+    /**
+     * 等待启动加载结束并发布快照，再于当前线程生成物品模板。只在服务端线程调用（服务端即将启动时）。
+     */
+    public static void awaitLoaded() {
+        joinLoad();
+        catalog.resolveKits();
+    }
+
+    /**
+     * 等待启动加载结束并发布快照，不生成物品模板，可在任意线程调用；其它读取路径在首次访问时兜底调用。
+     */
+    private static void joinLoad() {
+        CompletableFuture<CareerCatalog> future = pendingLoad;
+        if (future == null) {
+            return;
+        }
+        synchronized (CareerConfigManager.class) {
+            if (pendingLoad == null) {
+                return;
+            }
+            long start = System.nanoTime();
+            // 兜底：若加载完成事件尚未触发（理论上不会），此处直接放行校验
+            loadComplete.complete(null);
+            CareerCatalog result;
+            try {
+                result = future.join();
+            } catch (CompletionException | CancellationException e) {
+                ExampleMod.LOGGER.error("后台加载职业配置失败，将使用内置默认值", e);
+                result = resolveRegistryReferences(defaultCatalog());
+            }
+            catalog = result;
+            pendingLoad = null;
+            ExampleMod.LOGGER.info("已加载 {} 个职业定义：等待 {} ms，自构造起共 {} ms",
+                    result.size(), millisSince(start), millisSince(loadStartNanos));
+        }
+    }
+
+    /**
+     * 在后台线程重新读取并校验配置，不会修改当前快照；由调用方决定何时 {@link #publish}。
+     * 与启动时不同，解析失败不会回退到默认值，而是以异常结束，保留现有配置。
+     */
+    public static CompletableFuture<CareerCatalog> readAsync() {
+        return CompletableFuture.supplyAsync(() -> {
+            ensureDefaultFile();
+            try {
+                return resolveRegistryReferences(parseConfig());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, LOADER);
+    }
+
+    /**
+     * 原子替换当前快照，返回被替换的旧快照。需在主线程调用，以便生成物品模板。
+     */
+    public static CareerCatalog publish(CareerCatalog next) {
+        next.resolveKits();
+        CareerCatalog previous = getCatalog();
+        catalog = next;
+        return previous;
+    }
+
+    public static CareerCatalog getCatalog() {
+        if (pendingLoad != null) {
+            joinLoad();
+        }
+        return catalog;
+    }
+
+    /**
+     * 当前已发布的快照，不等待启动加载，可在网络线程等任意线程读取。
+     */
+    public static CareerCatalog publishedCatalog() {
+        return catalog;
     }
 
     public static List<CareerDefinition> getCareers() {
-        return cached;
+        return getCatalog().careers();
     }
 
     public static Optional<CareerDefinition> findCareer(String id) {
-        return cached.stream().filter(c -> c.id().equals(id)).findFirst();
+        return Optional.ofNullable(getCatalog().get(id));
     }
 
     public static boolean isLockAfterChoice() {
-        return lockAfterChoice;
+        return getCatalog().lockAfterChoice();
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
     }
 
     private static void ensureDefaultFile() {
@@ -66,63 +181,71 @@ public final class CareerConfigManager {
         }
     }
 
-    private static List<CareerDefinition> readConfig() {
-        try (Reader reader = Files.newBufferedReader(CONFIG_PATH)) {
-            RawConfig raw = GSON.fromJson(reader, RawConfig.class);
-            return validate(raw);
+    private static CareerCatalog readConfig() {
+        try {
+            return parseConfig();
         } catch (IOException | JsonParseException e) {
             ExampleMod.LOGGER.error("读取职业配置失败，将使用内置默认值", e);
-            return validate(buildDefaults());
+            return defaultCatalog();
         }
     }
 
-    private static List<CareerDefinition> validate(RawConfig raw) {
-        if (raw == null || raw.careers == null) {
-            return Collections.emptyList();
+    /**
+     * 源文件哈希与二进制缓存一致时直接读取缓存，否则解析 JSON 并重建缓存。
+     */
+    private static CareerCatalog parseConfig() throws IOException {
+        byte[] hash = CareerCatalogCache.hash(CONFIG_PATH);
+        CareerCatalog cached = CareerCatalogCache.read(CACHE_PATH, hash);
+        if (cached != null) {
+            ExampleMod.LOGGER.debug("职业配置未变化，使用二进制缓存 {}", CACHE_PATH);
+            return cached;
         }
-        lockAfterChoice = raw.lockAfterChoice == null ? true : raw.lockAfterChoice;
-        List<CareerDefinition> list = new ArrayList<>();
-        for (RawCareer c : raw.careers) {
-            if (c == null) continue;
-            String id = Objects.toString(c.id, "").trim().toLowerCase(Locale.ROOT);
-            if (id.isEmpty()) {
-                continue;
-            }
-            String name = Objects.toString(c.name, id);
-            String desc = Objects.toString(c.description, "");
-            ResourceLocation icon = Optional.ofNullable(ResourceLocation.tryParse(c.icon))
-                    .orElseGet(() -> Objects.requireNonNull(ResourceLocation.tryParse("minecraft:book")));
-
-            List<CareerDefinition.AttributeBonus> attrs = new ArrayList<>();
-            if (c.attributes != null) {
-                for (RawAttribute attr : c.attributes) {
-                    if (attr == null) continue;
-                    ResourceLocation attrId = ResourceLocation.tryParse(attr.id);
-                    if (attrId == null) {
-                        ExampleMod.LOGGER.warn("忽略无效属性 ID: {}", attr.id);
-                        continue;
-                    }
-                    attrs.add(new CareerDefinition.AttributeBonus(attrId, attr.value));
-                }
-            }
+        CareerCatalog parsed;
+        try (Reader reader = Files.newBufferedReader(CONFIG_PATH)) {
+            parsed = CareerConfigReader.read(reader, CareerConfigManager::warn);
+        }
+        CareerCatalogCache.write(CACHE_PATH, hash, parsed);
+        return parsed;
+    }
+
+    /**
+     * 内置默认配置，经由与文件相同的流式解析路径生成目录快照。
+     */
+    private static CareerCatalog defaultCatalog() {
+        try {
+            return CareerConfigReader.read(new StringReader(GSON.toJson(buildDefaults())), CareerConfigManager::warn);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void warn(String message) {
+        ExampleMod.LOGGER.warn("职业配置: {}", message);
+    }
 
-            List<CareerDefinition.StartingItem> items = new ArrayList<>();
-            if (c.items != null) {
-                for (RawItem item : c.items) {
-                    if (item == null) continue;
-                    ResourceLocation itemId = ResourceLocation.tryParse(item.id);
-                    if (itemId == null || !ForgeRegistries.ITEMS.containsKey(itemId)) {
-                        ExampleMod.LOGGER.warn("忽略无效初始物品: {}", item.id);
-                        continue;
-                    }
-                    int count = Math.max(1, item.count);
-                    items.add(new CareerDefinition.StartingItem(itemId, count));
+    /**
+     * 剔除注册表中不存在的初始物品；依赖物品注册表，只能在模组加载完成（物品注册完毕）后调用。
+     */
+    private static CareerCatalog resolveRegistryReferences(CareerCatalog parsed) {
+        List<CareerDefinition> list = new ArrayList<>(parsed.size());
+        boolean changed = false;
+        for (CareerDefinition def : parsed.careers()) {
+            List<CareerDefinition.StartingItem> items = new ArrayList<>(def.startingItems().size());
+            for (CareerDefinition.StartingItem item : def.startingItems()) {
+                if (!ForgeRegistries.ITEMS.containsKey(item.itemId())) {
+                    ExampleMod.LOGGER.warn("忽略无效初始物品: {}", item.itemId());
+                    continue;
                 }
+                items.add(item);
+            }
+            if (items.size() == def.startingItems().size()) {
+                list.add(def);
+            } else {
+                changed = true;
+                list.add(new CareerDefinition(def.id(), def.name(), def.description(), def.iconItem(), def.attributes(), items));
             }
-
-            list.add(new CareerDefinition(id, name, desc, icon, attrs, items));
         }
-        return list;
+        return changed ? CareerCatalog.of(list, parsed.lockAfterChoice(), parsed.bulkTickBudgetMicros()) : parsed;
     }
 
     private static RawConfig buildDefaults() {
@@ -170,6 +293,7 @@ public final class CareerConfigManager {
 
         RawConfig config = new RawConfig();
         config.lockAfterChoice = true;
+        config.bulkTickBudgetMicros = CareerCatalog.DEFAULT_BULK_TICK_BUDGET_MICROS;
         config.careers = List.of(warrior, mage, scout);
         return config;
     }
@@ -179,6 +303,8 @@ public final class CareerConfigManager {
         List<RawCareer> careers = new ArrayList<>();
         @SerializedName("lockAfterChoice")
         Boolean lockAfterChoice = true;
+        @SerializedName("bulkTickBudgetMicros")
+        Integer bulkTickBudgetMicros;
     }
 
     private static class RawCareer {
@@ -0,0 +1,318 @@
+package com.example.examplemod.career;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import net.minecraft.resources.ResourceLocation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 基于 {@link JsonReader} 的流式职业配置解析器：逐条读取、校验并生成 {@link CareerDefinition}，
+ * 不构建中间对象图。字段类型错误只跳过所在的职业条目，并报告行列位置；
+ * 只有 JSON 语法错误才会使整个文件失败。
+ */
+final class CareerConfigReader {
+    private static final ResourceLocation DEFAULT_ICON = new ResourceLocation("minecraft", "book");
+    private static final int MIN_BULK_BUDGET_MICROS = 100;
+    private static final int MAX_BULK_BUDGET_MICROS = 50_000;
+
+    private final JsonReader in;
+    private final Consumer<String> warnings;
+    private final Set<String> seenIds = new HashSet<>();
+    private boolean entryValid;
+
+    private CareerConfigReader(Reader source, Consumer<String> warnings) {
+        this.in = new JsonReader(source);
+        this.in.setLenient(true);
+        this.warnings = warnings;
+    }
+
+    /**
+     * 解析整个配置并构建目录快照；问题条目通过 warnings 报告后跳过。
+     *
+     * @throws JsonSyntaxException JSON 语法错误，消息中包含出错位置
+     */
+    static CareerCatalog read(Reader source, Consumer<String> warnings) throws IOException {
+        CareerConfigReader reader = new CareerConfigReader(source, warnings);
+        try {
+            return reader.readRoot();
+        } catch (IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e.getMessage() + " " + reader.location(), e);
+        }
+    }
+
+    private CareerCatalog readRoot() throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            warn("配置根节点不是对象，已忽略 " + location());
+            in.skipValue();
+            return CareerCatalog.EMPTY;
+        }
+        boolean lockAfterChoice = true;
+        int bulkTickBudgetMicros = CareerCatalog.DEFAULT_BULK_TICK_BUDGET_MICROS;
+        List<CareerDefinition> careers = new ArrayList<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String field = in.nextName();
+            switch (field) {
+                case "lockAfterChoice" -> {
+                    if (in.peek() == JsonToken.BOOLEAN) {
+                        lockAfterChoice = in.nextBoolean();
+                    } else {
+                        warn("lockAfterChoice 应为布尔值，使用默认值 true " + location());
+                        in.skipValue();
+                    }
+                }
+                case "bulkTickBudgetMicros" -> bulkTickBudgetMicros = readBulkBudget();
+                case "careers" -> {
+                    if (in.peek() != JsonToken.BEGIN_ARRAY) {
+                        warn("careers 应为数组，已忽略 " + location());
+                        in.skipValue();
+                        continue;
+                    }
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        CareerDefinition def = readCareer();
+                        if (def != null) {
+                            careers.add(def);
+                        }
+                    }
+                    in.endArray();
+                }
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return CareerCatalog.of(careers, lockAfterChoice, bulkTickBudgetMicros);
+    }
+
+    private int readBulkBudget() throws IOException {
+        if (in.peek() == JsonToken.NUMBER) {
+            try {
+                int value = in.nextInt();
+                int clamped = Math.max(MIN_BULK_BUDGET_MICROS, Math.min(MAX_BULK_BUDGET_MICROS, value));
+                if (value != clamped) {
+                    warn("bulkTickBudgetMicros 超出范围 [" + MIN_BULK_BUDGET_MICROS + ", " + MAX_BULK_BUDGET_MICROS
+                            + "]，已调整为 " + clamped + " " + location());
+                }
+                return clamped;
+            } catch (NumberFormatException e) {
+                // 非整数值仍被缓冲，下面跳过
+            }
+        }
+        warn("bulkTickBudgetMicros 应为整数，使用默认值 " + CareerCatalog.DEFAULT_BULK_TICK_BUDGET_MICROS + " " + location());
+        in.skipValue();
+        return CareerCatalog.DEFAULT_BULK_TICK_BUDGET_MICROS;
+    }
+
+    private CareerDefinition readCareer() throws IOException {
+        String entryLocation = location();
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else {
+                warn("职业条目应为对象，已跳过 " + entryLocation);
+                in.skipValue();
+            }
+            return null;
+        }
+        entryValid = true;
+        String rawId = null;
+        String name = null;
+        String description = null;
+        String icon = null;
+        List<CareerDefinition.AttributeBonus> attrs = new ArrayList<>();
+        List<CareerDefinition.StartingItem> items = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> rawId = readString("id");
+                case "name" -> name = readString("name");
+                case "description" -> description = readString("description");
+                case "icon" -> icon = readString("icon");
+                case "attributes" -> readArray("attributes", () -> readAttribute(attrs));
+                case "items" -> readArray("items", () -> readItem(items));
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (!entryValid) {
+            warn("职业条目存在类型错误，已跳过 " + entryLocation);
+            return null;
+        }
+        String id = rawId == null ? "" : rawId.trim().toLowerCase(Locale.ROOT);
+        if (id.isEmpty()) {
+            return null;
+        }
+        if (!seenIds.add(id)) {
+            warn("忽略重复的职业 ID: " + id + " " + entryLocation);
+            return null;
+        }
+        ResourceLocation iconId = icon == null ? null : ResourceLocation.tryParse(icon);
+        return new CareerDefinition(id, name == null ? id : name, description == null ? "" : description,
+                iconId == null ? DEFAULT_ICON : iconId, List.copyOf(attrs), List.copyOf(items));
+    }
+
+    private void readAttribute(List<CareerDefinition.AttributeBonus> out) throws IOException {
+        if (!beginEntryObject()) {
+            return;
+        }
+        String location = location();
+        String rawId = null;
+        double value = 0;
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> rawId = readString("id");
+                case "value" -> value = readDouble("value");
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        ResourceLocation attrId = rawId == null ? null : ResourceLocation.tryParse(rawId);
+        if (attrId == null) {
+            warn("忽略无效属性 ID: " + rawId + " " + location);
+            return;
+        }
+        out.add(new CareerDefinition.AttributeBonus(attrId, value));
+    }
+
+    private void readItem(List<CareerDefinition.StartingItem> out) throws IOException {
+        if (!beginEntryObject()) {
+            return;
+        }
+        String location = location();
+        String rawId = null;
+        int count = 0;
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id" -> rawId = readString("id");
+                case "count" -> count = readInt("count");
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        ResourceLocation itemId = rawId == null ? null : ResourceLocation.tryParse(rawId);
+        if (itemId == null) {
+            warn("忽略无效初始物品: " + rawId + " " + location);
+            return;
+        }
+        out.add(new CareerDefinition.StartingItem(itemId, Math.max(1, count)));
+    }
+
+    private boolean beginEntryObject() throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.BEGIN_OBJECT) {
+            in.beginObject();
+            return true;
+        }
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+        } else {
+            invalid("条目应为对象");
+        }
+        return false;
+    }
+
+    private void readArray(String field, EntryReader element) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return;
+        }
+        if (token != JsonToken.BEGIN_ARRAY) {
+            invalid(field + " 应为数组");
+            return;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            element.read();
+        }
+        in.endArray();
+    }
+
+    private String readString(String field) throws IOException {
+        switch (in.peek()) {
+            case STRING, NUMBER -> {
+                return in.nextString();
+            }
+            case BOOLEAN -> {
+                return Boolean.toString(in.nextBoolean());
+            }
+            case NULL -> {
+                in.nextNull();
+                return null;
+            }
+            default -> {
+                invalid(field + " 应为字符串");
+                return null;
+            }
+        }
+    }
+
+    private double readDouble(String field) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            try {
+                return in.nextDouble();
+            } catch (NumberFormatException e) {
+                // 解析失败时该值仍被缓冲，需显式跳过
+            }
+        }
+        invalid(field + " 应为数字");
+        return 0;
+    }
+
+    private int readInt(String field) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            try {
+                return in.nextInt();
+            } catch (NumberFormatException e) {
+                // 同上
+            }
+        }
+        invalid(field + " 应为整数");
+        return 0;
+    }
+
+    private void invalid(String message) throws IOException {
+        warn(message + " " + location());
+        in.skipValue();
+        entryValid = false;
+    }
+
+    private void warn(String message) {
+        warnings.accept(message);
+    }
+
+    /**
+     * 形如 "at line 12 column 7 path $.careers[3].attributes[0]" 的位置描述。
+     */
+    private String location() {
+        String described = in.toString();
+        int start = described.indexOf(" at line ");
+        return start < 0 ? "" : described.substring(start + 1);
+    }
+
+    @FunctionalInterface
+    private interface EntryReader {
+        void read() throws IOException;
+    }
+}
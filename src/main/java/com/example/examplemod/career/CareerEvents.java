@@ -3,27 +3,49 @@ package com.example.examplemod.career;
 import com.example.examplemod.ExampleMod;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
 /**
- * Forge 事件：登录/复活时应用职业数据。
+ * Forge 事件：服务端启动前就绪职业配置，登录/复活时应用职业数据。
  */
 @Mod.EventBusSubscriber(modid = ExampleMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class CareerEvents {
 
     @SubscribeEvent
+    public static void onServerAboutToStart(ServerAboutToStartEvent event) {
+        // 后台加载最晚在此完成，之后的登录/选择都读取已发布的快照
+        CareerConfigManager.awaitLoaded();
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGH)
     public static void onLogin(PlayerEvent.PlayerLoggedInEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
+            CareerPlayerData.load(player);
+            CareerWorldData.get(player.server).playerOnline(player.getUUID());
+            CareerMigration.onLogin(player);
             CareerService.applyExistingCareer(player);
         }
     }
 
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            // 登出事件在原版保存玩家数据之前触发，待应用的属性在此落地
+            CareerAttributeScheduler.flush(player);
+            CareerWorldData.get(player.server).playerOffline(player.getUUID());
+        }
+        CareerPlayerData.evict(event.getEntity().getUUID());
+    }
+
     @SubscribeEvent
     public static void onClone(PlayerEvent.Clone event) {
         if (event.getEntity() instanceof ServerPlayer newPlayer && event.getOriginal() instanceof ServerPlayer oldPlayer) {
-            CareerPlayerData.copyPersistentData(oldPlayer.getPersistentData(), newPlayer.getPersistentData());
-            CareerService.applyExistingCareer(newPlayer);
+            CareerPlayerData.restoreOnClone(oldPlayer, newPlayer);
+            // 克隆出的新实体（死亡重生或从末地返回）不会复制属性表，指纹无法反映实体状态，总是完整重新应用
+            CareerService.applyExistingCareer(newPlayer, true);
         }
     }
 }
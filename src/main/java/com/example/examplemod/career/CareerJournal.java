@@ -0,0 +1,276 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * 职业选择与物品发放的预写日志。
+ * <p>
+ * 玩家职业只有在原版下次保存 playerdata 时才落盘，崩溃后 careerItemsGranted 丢失会导致重复发放初始物品。
+ * 每次修改都在主线程编码成一条状态记录，交给后台线程追加写入并批量 fsync（组提交），不阻塞 tick。
+ * 启动时回放日志，玩家登录时以日志为准修正 NBT；主世界保存完成后所有玩家文件都已是最新，日志随之截断。
+ * <p>
+ * 记录格式：int 长度、内容（UUID、是否已发放物品、职业 ID，空串表示无职业）、int CRC32；
+ * 回放遇到不完整或校验失败的尾部记录即停止并截掉。
+ */
+@Mod.EventBusSubscriber(modid = ExampleMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class CareerJournal {
+    private static final String FILE_NAME = ExampleMod.MODID + "_careers.journal";
+    private static final int MAX_RECORD_LENGTH = 1024;
+    private static final Object COMPACT = new Object();
+    private static final Object CLOSE = new Object();
+    /** 停服时等待写线程完成最后一次组提交的上限。 */
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private static final Map<UUID, Recovered> recovered = new HashMap<>();
+    private static Writer writer;
+    private static Thread writerThread;
+
+    /**
+     * 日志中玩家的最新状态。
+     */
+    public record Recovered(String careerId, boolean itemsGranted) {}
+
+    private CareerJournal() {}
+
+    /**
+     * 追加一条状态记录，仅在主线程调用；日志未打开（服务器未启动完成）时忽略。
+     */
+    static void append(UUID playerId, String careerId, boolean itemsGranted) {
+        Recovered previous = recovered.get(playerId);
+        if (previous != null) {
+            recovered.put(playerId, new Recovered(careerId, itemsGranted || previous.itemsGranted()));
+        }
+        if (writer != null) {
+            writer.queue.add(encode(playerId, careerId, itemsGranted));
+        }
+    }
+
+    /**
+     * 取出并移除回放得到的玩家状态，登录时调用；日志中没有该玩家时返回 null。
+     */
+    static Recovered takeRecovered(UUID playerId) {
+        return recovered.remove(playerId);
+    }
+
+    @SubscribeEvent
+    public static void onServerStarted(ServerStartedEvent event) {
+        MinecraftServer server = event.getServer();
+        Path file = server.getWorldPath(LevelResource.ROOT).resolve("data").resolve(FILE_NAME);
+        recovered.clear();
+        try {
+            Files.createDirectories(file.getParent());
+            long valid = replay(file);
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (channel.size() > valid) {
+                ExampleMod.LOGGER.warn("职业日志尾部有 {} 字节不完整记录，已截断", channel.size() - valid);
+                channel.truncate(valid);
+                channel.force(false);
+            }
+            channel.position(valid);
+            writer = new Writer(channel);
+            writerThread = new Thread(writer, "Career Journal");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        } catch (IOException e) {
+            ExampleMod.LOGGER.error("无法打开职业日志 {}，本次运行不记录职业日志", file, e);
+            return;
+        }
+        if (!recovered.isEmpty()) {
+            // 世界数据同样可能停留在崩溃前，先按日志补齐，玩家 NBT 在登录时修正
+            CareerWorldData world = CareerWorldData.get(server);
+            for (Map.Entry<UUID, Recovered> e : recovered.entrySet()) {
+                world.recover(e.getKey(), e.getValue().careerId(), e.getValue().itemsGranted());
+            }
+            ExampleMod.LOGGER.info("从职业日志恢复了 {} 名玩家的记录", recovered.size());
+        }
+    }
+
+    /**
+     * 原版先保存全部在线玩家再保存各维度，离线玩家在登出时已保存，主世界保存时日志内容均已落入玩家文件。
+     * 回放得到但玩家尚未登录修正的记录仍需保留，截断后重新写入。
+     */
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onLevelSave(LevelEvent.Save event) {
+        if (writer != null && event.getLevel() instanceof ServerLevel level && level.dimension() == Level.OVERWORLD) {
+            writer.queue.add(COMPACT);
+            for (Map.Entry<UUID, Recovered> e : recovered.entrySet()) {
+                writer.queue.add(encode(e.getKey(), e.getValue().careerId(), e.getValue().itemsGranted()));
+            }
+        }
+    }
+
+    /**
+     * 写线程是守护线程，专用服务端停止后 JVM 可能随即退出；等待最后一批记录写入并 fsync 后再返回。
+     */
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        if (writer != null) {
+            writer.queue.add(CLOSE);
+            writer = null;
+            try {
+                writerThread.join(CLOSE_TIMEOUT_MILLIS);
+                if (writerThread.isAlive()) {
+                    ExampleMod.LOGGER.warn("职业日志写线程未在 {} ms 内结束，最后的记录可能未落盘", CLOSE_TIMEOUT_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        recovered.clear();
+    }
+
+    private static byte[] encode(UUID playerId, String careerId, boolean itemsGranted) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0);
+            out.writeLong(playerId.getMostSignificantBits());
+            out.writeLong(playerId.getLeastSignificantBits());
+            out.writeBoolean(itemsGranted);
+            out.writeUTF(careerId == null ? "" : careerId);
+            out.writeInt(0);
+            byte[] record = bytes.toByteArray();
+            int length = record.length - 8;
+            CRC32 crc = new CRC32();
+            crc.update(record, 4, length);
+            ByteBuffer.wrap(record).putInt(0, length).putInt(record.length - 4, (int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 读取日志到 recovered，返回最后一条完整记录之后的偏移量。
+     */
+    private static long replay(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        long valid = 0;
+        int records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            byte[] payload = new byte[MAX_RECORD_LENGTH];
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                    break;
+                }
+                int checksum;
+                try {
+                    in.readFully(payload, 0, length);
+                    checksum = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload, 0, length));
+                UUID playerId = new UUID(record.readLong(), record.readLong());
+                boolean granted = record.readBoolean();
+                String careerId = record.readUTF();
+                Recovered previous = recovered.get(playerId);
+                recovered.put(playerId, new Recovered(careerId.isEmpty() ? null : careerId,
+                        granted || (previous != null && previous.itemsGranted())));
+                valid += 8 + length;
+                records++;
+            }
+        }
+        if (records > 0) {
+            ExampleMod.LOGGER.info("回放职业日志：{} 条记录，{} 名玩家", records, recovered.size());
+        }
+        return valid;
+    }
+
+    /**
+     * 后台写线程：每次取出队列中积压的全部记录一并写入，只 fsync 一次。
+     */
+    private static final class Writer implements Runnable {
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private final FileChannel channel;
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void run() {
+            List<Object> batch = new ArrayList<>();
+            boolean open = true;
+            while (open) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                queue.drainTo(batch);
+                try {
+                    for (Object item : batch) {
+                        if (item == CLOSE) {
+                            open = false;
+                            break;
+                        } else if (item == COMPACT) {
+                            channel.truncate(0);
+                            channel.position(0);
+                        } else {
+                            ByteBuffer buffer = ByteBuffer.wrap((byte[]) item);
+                            while (buffer.hasRemaining()) {
+                                channel.write(buffer);
+                            }
+                        }
+                    }
+                    channel.force(false);
+                } catch (IOException e) {
+                    ExampleMod.LOGGER.error("写入职业日志失败", e);
+                }
+                batch.clear();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                ExampleMod.LOGGER.warn("关闭职业日志失败", e);
+            }
+        }
+    }
+}
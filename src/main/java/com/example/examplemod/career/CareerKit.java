@@ -0,0 +1,88 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预解析的初始物品套装：同种物品合并后按最大堆叠数拆分为不可变模板，
+ * 发放时只复制模板，一次遍历填充背包，溢出部分合并后再掉落。
+ */
+public final class CareerKit {
+    public static final CareerKit EMPTY = new CareerKit(List.of());
+
+    private final List<ItemStack> templates;
+
+    private CareerKit(List<ItemStack> templates) {
+        this.templates = templates;
+    }
+
+    /**
+     * 解析物品注册表并生成模板，只应在注册表冻结后、于主线程调用。
+     */
+    static CareerKit resolve(CareerDefinition def) {
+        if (def.startingItems().isEmpty()) {
+            return EMPTY;
+        }
+        Map<Item, Integer> merged = new LinkedHashMap<>();
+        for (CareerDefinition.StartingItem item : def.startingItems()) {
+            Item mcItem = ForgeRegistries.ITEMS.getValue(item.itemId());
+            if (mcItem == null || mcItem == Items.AIR) {
+                ExampleMod.LOGGER.warn("初始物品不存在: {}", item.itemId());
+                continue;
+            }
+            merged.merge(mcItem, item.count(), Integer::sum);
+        }
+        List<ItemStack> templates = new ArrayList<>();
+        merged.forEach((item, count) -> splitInto(templates, item, count));
+        return templates.isEmpty() ? EMPTY : new CareerKit(List.copyOf(templates));
+    }
+
+    public boolean isEmpty() {
+        return templates.isEmpty();
+    }
+
+    /**
+     * 发放整套物品：背包放不下的部分按物品合并成尽量少的满堆叠再掉落。
+     */
+    public void grant(ServerPlayer player) {
+        Inventory inventory = player.getInventory();
+        Map<Item, Integer> overflow = null;
+        for (ItemStack template : templates) {
+            ItemStack stack = template.copy();
+            inventory.add(stack);
+            if (!stack.isEmpty()) {
+                if (overflow == null) {
+                    overflow = new LinkedHashMap<>();
+                }
+                overflow.merge(stack.getItem(), stack.getCount(), Integer::sum);
+            }
+        }
+        if (overflow == null) {
+            return;
+        }
+        List<ItemStack> drops = new ArrayList<>();
+        overflow.forEach((item, count) -> splitInto(drops, item, count));
+        for (ItemStack stack : drops) {
+            player.drop(stack, false);
+        }
+    }
+
+    private static void splitInto(List<ItemStack> out, Item item, int count) {
+        int max = Math.max(1, new ItemStack(item).getMaxStackSize());
+        while (count > 0) {
+            int size = Math.min(max, count);
+            out.add(new ItemStack(item, size));
+            count -= size;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.nbt.visitors.CollectFields;
+import net.minecraft.nbt.visitors.FieldSelector;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.storage.LevelResource;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 离线迁移玩家职业：职业改名或从配置中移除后，把 playerdata 中残留的旧 ID 改写为新 ID 或清除。
+ * <p>
+ * 在线玩家直接走实时路径（修改缓存状态并重新应用属性），其 playerdata 文件不做改动；迁移期间登录的玩家
+ * 其文件可能在改写前就已被服务端读入，登录时同样走实时路径；
+ * 离线玩家的文件由 fork/join 并行处理：先用流式 NBT 读取只提取职业字段，确需修改的文件才完整读取，
+ * 写入临时文件后原子替换。移除职业时保留已应用属性记录，玩家下次登录时由 {@link CareerService} 撤销加成。
+ */
+@Mod.EventBusSubscriber(modid = ExampleMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class CareerMigration {
+    private static final String PLAYER_DATA_ROOT = "ForgeData";
+    private static final String KEY_ID = "careerId";
+    private static final int FILES_PER_TASK = 32;
+    private static boolean running = false;
+    // 进行中的迁移，供登录时的实时路径使用
+    private static String runningFrom;
+    private static String runningTo;
+    private static int migratedOnLogin;
+    // 每次服务端停止时递增，停服前发起、之后才完成的迁移不再回到新的服务端汇报
+    private static int generation = 0;
+
+    private CareerMigration() {}
+
+    /**
+     * 发起迁移，仅在主线程调用；to 为 null 表示移除。已有迁移进行中时返回 false。
+     */
+    public static boolean start(CommandSourceStack source, String from, String to) {
+        if (running) {
+            return false;
+        }
+        MinecraftServer server = source.getServer();
+        Path dir = server.getWorldPath(LevelResource.PLAYER_DATA_DIR);
+        List<Path> files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> p.getFileName().toString().endsWith(".dat")).toList();
+        } catch (IOException e) {
+            ExampleMod.LOGGER.error("无法列出玩家数据目录 {}", dir, e);
+            source.sendFailure(Component.literal("无法读取玩家数据目录: " + e.getMessage()));
+            return true;
+        }
+        running = true;
+        runningFrom = from;
+        runningTo = to;
+        migratedOnLogin = 0;
+        int live = migrateOnline(server, from, to);
+        String label = label(from, to);
+        source.sendSuccess(() -> Component.literal(label + "：已处理 " + live + " 名在线玩家，正在后台迁移 " + files.size() + " 个玩家数据文件..."), true);
+
+        long start = System.nanoTime();
+        int startedIn = generation;
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        CompletableFuture.supplyAsync(() -> new MigrateTask(files, 0, files.size(), from, to).invoke(), pool)
+                .whenComplete((result, error) -> {
+                    pool.shutdown();
+                    server.execute(() -> {
+                        if (startedIn == generation) {
+                            finish(source, from, to, result, error, System.nanoTime() - start);
+                        }
+                    });
+                });
+        return true;
+    }
+
+    /**
+     * 回到主线程：同步世界数据，并对迁移期间登录的玩家再走一次实时路径。
+     */
+    private static void finish(CommandSourceStack source, String from, String to, Result result, Throwable error, long elapsedNanos) {
+        running = false;
+        runningFrom = null;
+        runningTo = null;
+        MinecraftServer server = source.getServer();
+        String label = label(from, to);
+        if (error != null) {
+            ExampleMod.LOGGER.error("{} 失败", label, error);
+            source.sendFailure(Component.literal(label + " 失败: " + error.getMessage()));
+            return;
+        }
+        CareerWorldData world = CareerWorldData.get(server);
+        for (UUID playerId : result.migrated()) {
+            world.migrate(playerId, to);
+            // 日志中的旧记录不能在登录或崩溃回放时把迁移覆盖回去
+            CareerWorldData.Entry entry = world.lookup(playerId);
+            CareerJournal.append(playerId, to, entry != null && entry.itemsGranted());
+        }
+        int live = migrateOnline(server, from, to) + migratedOnLogin;
+
+        double seconds = Math.max(elapsedNanos / 1.0e9, 1.0e-6);
+        String summary = String.format("%s 完成：扫描 %d 个文件，改写 %d 个，在线跳过 %d 个，失败 %d 个，迁移期间登录 %d 名；用时 %.2f 秒（%.0f 文件/秒，%.2f MB/秒）",
+                label, result.scanned(), result.rewritten(), result.skippedOnline(), result.failed(), live,
+                seconds, result.scanned() / seconds, result.bytes() / 1048576.0 / seconds);
+        ExampleMod.LOGGER.info(summary);
+        source.sendSuccess(() -> Component.literal(summary), true);
+    }
+
+    /**
+     * 停服后 server.execute 提交的收尾任务不会执行，在此复位，否则之后的迁移会一直被拒绝。
+     */
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        running = false;
+        runningFrom = null;
+        runningTo = null;
+        generation++;
+    }
+
+    /**
+     * 登录时调用（职业数据已加载）。后台任务对文件的检查与替换不是原子的，服务端可能在替换前读入旧文件，
+     * 之后保存时又把旧 ID 写回；因此迁移进行中登录且仍持有旧职业的玩家在此走实时路径。
+     */
+    static void onLogin(ServerPlayer player) {
+        if (running && migrate(player, runningFrom, runningTo)) {
+            migratedOnLogin++;
+        }
+    }
+
+    private static String label(String from, String to) {
+        return to == null ? "移除职业 " + from : "职业改名 " + from + " -> " + to;
+    }
+
+    /**
+     * 实时路径：在线且仍持有旧职业的玩家。返回处理人数。
+     */
+    private static int migrateOnline(MinecraftServer server, String from, String to) {
+        int migrated = 0;
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            if (migrate(player, from, to)) {
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+
+    private static boolean migrate(ServerPlayer player, String from, String to) {
+        if (!from.equals(CareerPlayerData.getCareerId(player))) {
+            return false;
+        }
+        if (to == null) {
+            CareerService.resetCareer(player);
+        } else {
+            CareerPlayerData.setCareerId(player, to);
+            CareerService.applyExistingCareer(player);
+        }
+        return true;
+    }
+
+    private record Result(int scanned, int rewritten, int skippedOnline, int failed, long bytes, List<UUID> migrated) {
+        static final Result EMPTY = new Result(0, 0, 0, 0, 0, List.of());
+
+        Result merge(Result other) {
+            List<UUID> ids = new ArrayList<>(migrated.size() + other.migrated.size());
+            ids.addAll(migrated);
+            ids.addAll(other.migrated);
+            return new Result(scanned + other.scanned, rewritten + other.rewritten, skippedOnline + other.skippedOnline,
+                    failed + other.failed, bytes + other.bytes, ids);
+        }
+    }
+
+    private static final class MigrateTask extends RecursiveTask<Result> {
+        private final List<Path> files;
+        private final int from;
+        private final int to;
+        private final String oldId;
+        private final String newId;
+
+        MigrateTask(List<Path> files, int from, int to, String oldId, String newId) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.oldId = oldId;
+            this.newId = newId;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from > FILES_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                MigrateTask left = new MigrateTask(files, from, mid, oldId, newId);
+                left.fork();
+                Result right = new MigrateTask(files, mid, to, oldId, newId).compute();
+                return left.join().merge(right);
+            }
+            Result result = Result.EMPTY;
+            for (int i = from; i < to; i++) {
+                result = result.merge(migrateFile(files.get(i)));
+            }
+            return result;
+        }
+
+        private Result migrateFile(Path file) {
+            String name = file.getFileName().toString();
+            UUID playerId;
+            try {
+                playerId = UUID.fromString(name.substring(0, name.length() - ".dat".length()));
+            } catch (IllegalArgumentException e) {
+                return Result.EMPTY;
+            }
+            // 在线玩家的文件由服务端持有，交给实时路径
+            if (CareerPlayerData.peek(playerId) != null) {
+                return new Result(1, 0, 1, 0, 0, List.of());
+            }
+            try {
+                FileTime modified = Files.getLastModifiedTime(file);
+                long size = Files.size(file);
+                if (!oldId.equals(scanCareerId(file))) {
+                    return new Result(1, 0, 0, 0, size, List.of());
+                }
+                CompoundTag root = NbtIo.readCompressed(file.toFile());
+                CompoundTag career = root.getCompound(PLAYER_DATA_ROOT).getCompound(ExampleMod.MODID);
+                if (newId == null) {
+                    career.remove(KEY_ID);
+                } else {
+                    career.putString(KEY_ID, newId);
+                }
+                Path temp = file.resolveSibling(name + ".career-migrate");
+                NbtIo.writeCompressed(root, temp.toFile());
+                // 读取期间玩家登录或文件被服务端改写时放弃，交给实时路径；
+                // 此检查之后才登录的玩家由 onLogin 兜底
+                if (CareerPlayerData.peek(playerId) != null || !modified.equals(Files.getLastModifiedTime(file))) {
+                    Files.deleteIfExists(temp);
+                    return new Result(1, 0, 1, 0, size, List.of());
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return new Result(1, 1, 0, 0, size, List.of(playerId));
+            } catch (IOException | RuntimeException e) {
+                ExampleMod.LOGGER.warn("迁移玩家数据 {} 失败: {}", file.getFileName(), e.toString());
+                return new Result(1, 0, 0, 1, 0, List.of());
+            }
+        }
+    }
+
+    /**
+     * 流式读取玩家文件，只收集 ForgeData.initialattributesitems.careerId，不构建完整的 NBT 树。
+     */
+    private static String scanCareerId(Path file) throws IOException {
+        CollectFields collector = new CollectFields(new FieldSelector(PLAYER_DATA_ROOT, ExampleMod.MODID, StringTag.TYPE, KEY_ID));
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            NbtIo.parse(in, collector);
+        }
+        if (collector.getResult() instanceof CompoundTag root) {
+            CompoundTag career = root.getCompound(PLAYER_DATA_ROOT).getCompound(ExampleMod.MODID);
+            return career.contains(KEY_ID, Tag.TAG_STRING) ? career.getString(KEY_ID) : null;
+        }
+        return null;
+    }
+}
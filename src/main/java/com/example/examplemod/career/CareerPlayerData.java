@@ -2,47 +2,236 @@ package com.example.examplemod.career;
 
 import com.example.examplemod.ExampleMod;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.server.level.ServerPlayer;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 负责把玩家的职业数据存储在持久化 NBT 中。
+ * 在线玩家另有按 UUID 缓存的 {@link CareerPlayerState}，读取只访问字段，修改时同步写回 NBT，
+ * 并同步到世界级的 {@link CareerWorldData} 与 {@link CareerJournal}。
  */
 public final class CareerPlayerData {
     private static final String ROOT = ExampleMod.MODID;
     private static final String KEY_ID = "careerId";
     private static final String KEY_ITEMS_GRANTED = "careerItemsGranted";
+    // 格式 1：属性 ID 字符串列表；格式 2：属性在世界调色板中的下标数组，
+    // 下标尚未随世界数据写盘时同时保留字符串列表，读取时以列表为准
+    private static final String KEY_ATTR_LIST = "careerAppliedAttributes";
+    private static final String KEY_ATTR_INDICES = "careerAppliedAttrs";
+    private static final String KEY_FORMAT = "careerFormat";
+    private static final int FORMAT = 2;
+    private static final String KEY_APPLIED_CAREER = "careerAppliedCareer";
+    private static final String KEY_APPLIED_FINGERPRINT = "careerAppliedFingerprint";
+
+    private static final Map<UUID, CareerPlayerState> states = new ConcurrentHashMap<>();
 
     private CareerPlayerData() {}
 
-    public static Optional<String> getCareerId(ServerPlayer player) {
+    /**
+     * 返回玩家的缓存状态。缓存只在登录时由 {@link #load} 建立；未缓存（登录前或登出后排队执行的任务）时
+     * 直接读取 NBT 返回临时状态，不放入缓存，修改仍会写回 NBT。
+     */
+    public static CareerPlayerState state(ServerPlayer player) {
+        CareerPlayerState state = states.get(player.getUUID());
+        return state != null ? state : read(player.getPersistentData().getCompound(ROOT), CareerWorldData.get(player.server));
+    }
+
+    /**
+     * 只读取缓存，不触碰玩家实体，可在网络线程调用；未缓存时返回 null。
+     */
+    public static CareerPlayerState peek(UUID playerId) {
+        return states.get(playerId);
+    }
+
+    /**
+     * 登录时调用：从 NBT 重新读取并缓存，职业日志中有更新的记录时以日志为准修正 NBT；
+     * 世界数据中没有或不一致的记录以修正后的状态补齐。
+     */
+    public static CareerPlayerState load(ServerPlayer player) {
         CompoundTag tag = player.getPersistentData().getCompound(ROOT);
-        String id = tag.getString(KEY_ID);
-        return id.isEmpty() ? Optional.empty() : Optional.of(id);
+        CareerWorldData world = CareerWorldData.get(player.server);
+        CareerPlayerState state = read(tag, world);
+        states.put(player.getUUID(), state);
+        if (tag.contains(KEY_ATTR_LIST)) {
+            // 旧格式或调色板当时未写盘：改写为调色板下标，下标均已写盘时丢弃字符串列表
+            writeApplied(player, state.appliedCareer(), state.appliedAttributes(), state.appliedFingerprint());
+        }
+        CareerJournal.Recovered recovered = CareerJournal.takeRecovered(player.getUUID());
+        if (recovered != null) {
+            reconcile(player, state, recovered);
+        }
+        syncWorld(player, state);
+        return state;
+    }
+
+    /**
+     * 登出时调用：数据已随每次修改写回 NBT，直接丢弃缓存即可。
+     */
+    public static void evict(UUID playerId) {
+        states.remove(playerId);
+    }
+
+    /**
+     * 当前职业 ID，未选择时为 null。
+     */
+    public static String getCareerId(ServerPlayer player) {
+        return state(player).careerId();
+    }
+
+    public static boolean hasCareer(ServerPlayer player) {
+        return state(player).hasCareer();
     }
 
     public static void setCareerId(ServerPlayer player, String id) {
+        CareerPlayerState state = state(player);
+        state.setCareerId(id);
         CompoundTag tag = getOrCreateRoot(player);
         tag.putString(KEY_ID, id);
         player.getPersistentData().put(ROOT, tag);
+        persist(player, state);
+    }
+
+    /**
+     * 清除职业与已应用属性记录；初始物品领取标记保留。
+     */
+    public static void clearCareer(ServerPlayer player) {
+        CareerPlayerState state = state(player);
+        state.setCareerId(null);
+        state.setApplied(null, List.of(), 0);
+        CompoundTag tag = getOrCreateRoot(player);
+        tag.remove(KEY_ID);
+        tag.remove(KEY_ATTR_LIST);
+        tag.remove(KEY_ATTR_INDICES);
+        tag.remove(KEY_APPLIED_CAREER);
+        tag.remove(KEY_APPLIED_FINGERPRINT);
+        player.getPersistentData().put(ROOT, tag);
+        persist(player, state);
     }
 
     public static boolean hasGrantedItems(ServerPlayer player) {
-        CompoundTag tag = player.getPersistentData().getCompound(ROOT);
-        return tag.getBoolean(KEY_ITEMS_GRANTED);
+        return state(player).itemsGranted();
     }
 
     public static void markGrantedItems(ServerPlayer player) {
+        CareerPlayerState state = state(player);
+        state.setItemsGranted(true);
         CompoundTag tag = getOrCreateRoot(player);
         tag.putBoolean(KEY_ITEMS_GRANTED, true);
         player.getPersistentData().put(ROOT, tag);
+        persist(player, state);
+    }
+
+    /**
+     * 记录本次实际应用的职业、属性列表（应与该职业的属性计划顺序一致）及计划指纹。
+     */
+    public static void setAppliedAttributes(ServerPlayer player, String careerId, List<String> attributeIds, long fingerprint) {
+        state(player).setApplied(careerId, attributeIds, fingerprint);
+        writeApplied(player, careerId, attributeIds, fingerprint);
+    }
+
+    /**
+     * 复活或从末地返回克隆时调用：缓存状态与 NBT 一致，直接按缓存为新实体写出，不深拷贝旧实体的复合标签。
+     * 未缓存（理论上不会发生）时退回复制旧数据。
+     */
+    public static void restoreOnClone(ServerPlayer original, ServerPlayer player) {
+        CareerPlayerState state = states.get(player.getUUID());
+        if (state == null) {
+            if (original.getPersistentData().contains(ROOT)) {
+                player.getPersistentData().put(ROOT, original.getPersistentData().getCompound(ROOT).copy());
+            }
+            return;
+        }
+        CompoundTag tag = new CompoundTag();
+        if (state.careerId() != null) {
+            tag.putString(KEY_ID, state.careerId());
+        }
+        if (state.itemsGranted()) {
+            tag.putBoolean(KEY_ITEMS_GRANTED, true);
+        }
+        player.getPersistentData().put(ROOT, tag);
+        if (state.appliedCareer() != null) {
+            writeApplied(player, state.appliedCareer(), state.appliedAttributes(), state.appliedFingerprint());
+        }
+    }
+
+    private static void writeApplied(ServerPlayer player, String careerId, List<String> attributeIds, long fingerprint) {
+        CareerWorldData world = CareerWorldData.get(player.server);
+        int[] indices = new int[attributeIds.size()];
+        boolean durable = true;
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = world.attributeIndex(attributeIds.get(i));
+            durable &= world.attributeDurable(indices[i]);
+        }
+        CompoundTag tag = getOrCreateRoot(player);
+        if (durable) {
+            tag.remove(KEY_ATTR_LIST);
+        } else {
+            // 玩家文件可能先于世界数据落盘，崩溃后新下标无法解析，附上 ID 列表直到调色板写盘
+            ListTag list = new ListTag();
+            for (String id : attributeIds) {
+                list.add(StringTag.valueOf(id));
+            }
+            tag.put(KEY_ATTR_LIST, list);
+        }
+        tag.putInt(KEY_FORMAT, FORMAT);
+        tag.putIntArray(KEY_ATTR_INDICES, indices);
+        if (careerId == null) {
+            tag.remove(KEY_APPLIED_CAREER);
+        } else {
+            tag.putString(KEY_APPLIED_CAREER, careerId);
+        }
+        if (fingerprint == 0) {
+            tag.remove(KEY_APPLIED_FINGERPRINT);
+        } else {
+            tag.putLong(KEY_APPLIED_FINGERPRINT, fingerprint);
+        }
+        player.getPersistentData().put(ROOT, tag);
     }
 
-    public static void copyPersistentData(CompoundTag from, CompoundTag to) {
-        if (from.contains(ROOT)) {
-            to.put(ROOT, from.getCompound(ROOT).copy());
+    private static void reconcile(ServerPlayer player, CareerPlayerState state, CareerJournal.Recovered recovered) {
+        boolean idChanged = !Objects.equals(state.careerId(), recovered.careerId());
+        boolean grantChanged = recovered.itemsGranted() && !state.itemsGranted();
+        if (!idChanged && !grantChanged) {
+            return;
         }
+        ExampleMod.LOGGER.info("按职业日志修正玩家 {} 的数据：职业 {} -> {}，物品已发放 {} -> {}",
+                player.getGameProfile().getName(), state.careerId(), recovered.careerId(),
+                state.itemsGranted(), state.itemsGranted() || recovered.itemsGranted());
+        CompoundTag tag = getOrCreateRoot(player);
+        if (idChanged) {
+            state.setCareerId(recovered.careerId());
+            if (recovered.careerId() == null) {
+                tag.remove(KEY_ID);
+            } else {
+                tag.putString(KEY_ID, recovered.careerId());
+            }
+        }
+        if (grantChanged) {
+            state.setItemsGranted(true);
+            tag.putBoolean(KEY_ITEMS_GRANTED, true);
+        }
+        player.getPersistentData().put(ROOT, tag);
+    }
+
+    private static void syncWorld(ServerPlayer player, CareerPlayerState state) {
+        CareerWorldData.get(player.server).update(player.getUUID(), state);
+    }
+
+    /**
+     * 职业或物品发放标记变化时调用：同步世界数据并写入职业日志。
+     */
+    private static void persist(ServerPlayer player, CareerPlayerState state) {
+        syncWorld(player, state);
+        CareerJournal.append(player.getUUID(), state.careerId(), state.itemsGranted());
     }
 
     static CompoundTag getOrCreateRoot(ServerPlayer player) {
@@ -54,4 +243,33 @@ public final class CareerPlayerData {
         }
         return data.getCompound(ROOT);
     }
+
+    private static CareerPlayerState read(CompoundTag tag, CareerWorldData world) {
+        String id = tag.getString(KEY_ID);
+        String applied = tag.getString(KEY_APPLIED_CAREER);
+        List<String> attributes;
+        // 缺少 careerFormat 的是格式 1 的旧数据；格式 2 附带字符串列表时说明下标可能未写盘
+        if (tag.getInt(KEY_FORMAT) < FORMAT || tag.contains(KEY_ATTR_LIST)) {
+            ListTag listTag = tag.getList(KEY_ATTR_LIST, Tag.TAG_STRING);
+            String[] ids = new String[listTag.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = listTag.getString(i);
+            }
+            attributes = List.of(ids);
+        } else {
+            int[] indices = tag.getIntArray(KEY_ATTR_INDICES);
+            List<String> resolved = new ArrayList<>(indices.length);
+            for (int index : indices) {
+                String attribute = world.attribute(index);
+                if (attribute != null) {
+                    resolved.add(attribute);
+                } else {
+                    ExampleMod.LOGGER.warn("属性调色板中没有下标 {}，已忽略该条已应用属性记录", index);
+                }
+            }
+            attributes = List.copyOf(resolved);
+        }
+        return new CareerPlayerState(id.isEmpty() ? null : id, tag.getBoolean(KEY_ITEMS_GRANTED),
+                applied.isEmpty() ? null : applied, attributes, tag.getLong(KEY_APPLIED_FINGERPRINT));
+    }
 }
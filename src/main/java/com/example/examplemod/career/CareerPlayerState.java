@@ -0,0 +1,71 @@
+package com.example.examplemod.career;
+
+import java.util.List;
+
+/**
+ * 在线玩家职业数据的内存副本，登录时从 NBT 读取，修改经 {@link CareerPlayerData} 同步写回。
+ * 字段均为 volatile，网络线程也可直接读取。
+ */
+public final class CareerPlayerState {
+    private volatile String careerId;
+    private volatile boolean itemsGranted;
+    private volatile String appliedCareer;
+    private volatile List<String> appliedAttributes;
+    private volatile long appliedFingerprint;
+
+    CareerPlayerState(String careerId, boolean itemsGranted, String appliedCareer, List<String> appliedAttributes,
+                      long appliedFingerprint) {
+        this.careerId = careerId;
+        this.itemsGranted = itemsGranted;
+        this.appliedCareer = appliedCareer;
+        this.appliedAttributes = appliedAttributes;
+        this.appliedFingerprint = appliedFingerprint;
+    }
+
+    /**
+     * 当前职业 ID，未选择时为 null。
+     */
+    public String careerId() {
+        return careerId;
+    }
+
+    public boolean hasCareer() {
+        return careerId != null;
+    }
+
+    public boolean itemsGranted() {
+        return itemsGranted;
+    }
+
+    /**
+     * 上次应用属性时所依据的职业 ID，从未应用时为 null。
+     */
+    public String appliedCareer() {
+        return appliedCareer;
+    }
+
+    public List<String> appliedAttributes() {
+        return appliedAttributes;
+    }
+
+    /**
+     * 上次应用时属性计划的指纹（见 {@link CareerAttributePlan#fingerprint}），未记录时为 0。
+     */
+    public long appliedFingerprint() {
+        return appliedFingerprint;
+    }
+
+    void setCareerId(String careerId) {
+        this.careerId = careerId;
+    }
+
+    void setItemsGranted(boolean itemsGranted) {
+        this.itemsGranted = itemsGranted;
+    }
+
+    void setApplied(String appliedCareer, List<String> appliedAttributes, long appliedFingerprint) {
+        this.appliedCareer = appliedCareer;
+        this.appliedAttributes = appliedAttributes;
+        this.appliedFingerprint = appliedFingerprint;
+    }
+}
@@ -9,23 +9,32 @@ import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.HoverEvent;
 import net.minecraft.network.chat.Style;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
 
 /**
  * 负责注册命令与未选职业玩家的定时提示。
+ * 只有未选职业的在线玩家进入按下次提示时间排序的队列，已全部选完职业时每 tick 仅检查队首。
  */
 @Mod.EventBusSubscriber(modid = ExampleMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class CareerPromptHandler {
     private static final long TICKS_INTERVAL = 1200L; // 60s
-    private static final Map<UUID, Long> lastPromptTick = new HashMap<>();
+    private static final PriorityQueue<ScheduledPrompt> queue = new PriorityQueue<>(Comparator.comparingLong(ScheduledPrompt::dueTick));
+    // 每名玩家当前有效的提示时间；队列中时间不符的条目视为已取消
+    private static final Map<UUID, Long> scheduled = new HashMap<>();
 
     @SubscribeEvent
     public static void onRegisterCommands(RegisterCommandsEvent event) {
@@ -33,22 +42,73 @@ public class CareerPromptHandler {
     }
 
     @SubscribeEvent
-    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END || event.player.level().isClientSide()) {
-            return;
+    public static void onLogin(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player && !CareerPlayerData.hasCareer(player)) {
+            schedule(player, player.server.getTickCount());
         }
-        if (!(event.player instanceof ServerPlayer player)) {
+    }
+
+    @SubscribeEvent
+    public static void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        unschedule(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || queue.isEmpty()) {
             return;
         }
-        if (CareerPlayerData.getCareerId(player).isPresent()) {
-            lastPromptTick.remove(player.getUUID());
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
             return;
         }
-        long gameTime = player.level().getGameTime();
-        long last = lastPromptTick.getOrDefault(player.getUUID(), 0L);
-        if (gameTime - last >= TICKS_INTERVAL) {
+        long now = server.getTickCount();
+        while (!queue.isEmpty() && queue.peek().dueTick() <= now) {
+            ScheduledPrompt next = queue.poll();
+            Long current = scheduled.get(next.playerId());
+            if (current == null || current != next.dueTick()) {
+                continue;
+            }
+            ServerPlayer player = server.getPlayerList().getPlayer(next.playerId());
+            if (player == null || CareerPlayerData.hasCareer(player)) {
+                scheduled.remove(next.playerId());
+                continue;
+            }
             sendPrompt(player);
-            lastPromptTick.put(player.getUUID(), gameTime);
+            schedule(player, now + TICKS_INTERVAL);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        queue.clear();
+        scheduled.clear();
+    }
+
+    /**
+     * 玩家选定职业后调用，立即停止提示。
+     */
+    public static void onCareerChosen(ServerPlayer player) {
+        unschedule(player.getUUID());
+    }
+
+    /**
+     * 玩家职业被重置后调用，立即恢复提示。
+     */
+    public static void onCareerReset(ServerPlayer player) {
+        if (!scheduled.containsKey(player.getUUID())) {
+            schedule(player, player.server.getTickCount());
+        }
+    }
+
+    private static void schedule(ServerPlayer player, long dueTick) {
+        scheduled.put(player.getUUID(), dueTick);
+        queue.add(new ScheduledPrompt(player.getUUID(), dueTick));
+    }
+
+    private static void unschedule(UUID playerId) {
+        if (scheduled.remove(playerId) != null && scheduled.isEmpty()) {
+            queue.clear();
         }
     }
 
@@ -62,4 +122,6 @@ public class CareerPromptHandler {
                 .append(Component.literal(" 打开面板。"));
         player.sendSystemMessage(msg);
     }
+
+    private record ScheduledPrompt(UUID playerId, long dueTick) {}
 }
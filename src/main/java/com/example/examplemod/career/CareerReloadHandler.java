@@ -0,0 +1,115 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 职业配置热重载：后台读取并校验，回到主线程原子发布新快照，
+ * 再把属性有变化的在线玩家排队，逐 tick 分批重新应用。
+ */
+@Mod.EventBusSubscriber(modid = ExampleMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public final class CareerReloadHandler {
+    private static final int PLAYERS_PER_TICK = 8;
+    private static final Set<UUID> pendingReapply = new LinkedHashSet<>();
+    private static boolean reloading = false;
+
+    private CareerReloadHandler() {}
+
+    /**
+     * 发起一次重载，仅在主线程调用。已有重载进行中时返回 false。
+     */
+    public static boolean reload(CommandSourceStack source) {
+        if (reloading) {
+            return false;
+        }
+        reloading = true;
+        MinecraftServer server = source.getServer();
+        long start = System.nanoTime();
+        CareerConfigManager.readAsync().whenComplete((next, error) -> server.execute(() -> {
+            reloading = false;
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                ExampleMod.LOGGER.error("重新加载职业配置失败，继续使用现有配置", cause);
+                source.sendFailure(Component.literal("重新加载职业配置失败: " + cause.getMessage()));
+                return;
+            }
+            CareerCatalog previous = CareerConfigManager.publish(next);
+            Set<String> changed = changedCareers(previous, next);
+            int queued = 0;
+            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                String careerId = CareerPlayerData.getCareerId(player);
+                if (careerId != null && changed.contains(careerId) && pendingReapply.add(player.getUUID())) {
+                    queued++;
+                }
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            ExampleMod.LOGGER.info("已重新加载 {} 个职业定义（{} 个属性变更，{} 名在线玩家待重新应用），耗时 {} ms",
+                    next.size(), changed.size(), queued, elapsedMs);
+            int queuedPlayers = queued;
+            source.sendSuccess(() -> Component.literal("职业配置已重新加载：" + next.size() + " 个职业，"
+                    + changed.size() + " 个属性变更，" + queuedPlayers + " 名在线玩家将重新应用属性"), true);
+        }));
+        return true;
+    }
+
+    /**
+     * 只关心属性是否变化：名称/描述/物品变更不需要重新应用。新增职业也算变更，
+     * 以覆盖此前 ID 无效、现在才生效的玩家；被移除的职业同样算变更，其持有者的加成需要撤销。
+     */
+    private static Set<String> changedCareers(CareerCatalog previous, CareerCatalog next) {
+        Set<String> changed = new HashSet<>();
+        for (CareerDefinition def : next.careers()) {
+            CareerDefinition old = previous.get(def.id());
+            if (old == null || !old.attributes().equals(def.attributes())) {
+                changed.add(def.id());
+            }
+        }
+        for (CareerDefinition def : previous.careers()) {
+            if (next.get(def.id()) == null) {
+                changed.add(def.id());
+            }
+        }
+        return changed;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || pendingReapply.isEmpty()) {
+            return;
+        }
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return;
+        }
+        Iterator<UUID> it = pendingReapply.iterator();
+        for (int i = 0; i < PLAYERS_PER_TICK && it.hasNext(); i++) {
+            UUID id = it.next();
+            it.remove();
+            ServerPlayer player = server.getPlayerList().getPlayer(id);
+            if (player != null) {
+                CareerService.applyExistingCareer(player);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        pendingReapply.clear();
+        reloading = false;
+    }
+}
@@ -1,44 +1,69 @@
 package com.example.examplemod.career;
 
 import com.example.examplemod.ExampleMod;
-import com.example.playerattributemanagement.api.PlayerAttributeApi;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.item.Item;
-import net.minecraft.world.item.ItemStack;
-import net.minecraftforge.fml.ModList;
-import net.minecraftforge.registries.ForgeRegistries;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 处理职业分配、属性应用及初始物品发放。
  */
 public final class CareerService {
-    private static final String KEY_ATTR_LIST = "careerAppliedAttributes";
-    private static boolean warnedMissingApi = false;
+    // 首次使用时按已加载的模组选定，之后不再变化
+    private static final AttributeBackend BACKEND = AttributeBackend.select();
 
     private CareerService() {}
 
+    /**
+     * 登录、克隆与重载后调用：登记到 tick 结束时统一应用（见 {@link CareerAttributeScheduler}），
+     * 届时上次应用的计划指纹与当前一致则不再调用属性接口。
+     */
     public static void applyExistingCareer(ServerPlayer player) {
-        Optional<String> careerId = CareerPlayerData.getCareerId(player);
-        if (careerId.isEmpty()) {
+        applyExistingCareer(player, false);
+    }
+
+    /**
+     * force 为 true 时忽略指纹强制完整应用，用于克隆等属性未随实体保留的场合。
+     */
+    public static void applyExistingCareer(ServerPlayer player, boolean force) {
+        CareerAttributeScheduler.markDirty(player, force);
+    }
+
+    /**
+     * 由 {@link CareerAttributeScheduler} 调用，按玩家当前的职业实际应用属性。
+     */
+    static void applyPending(ServerPlayer player, boolean force) {
+        CareerPlayerState state = CareerPlayerData.state(player);
+        String careerId = state.careerId();
+        if (careerId == null) {
+            // 职业已被离线迁移移除：撤销遗留的属性加成
+            if (!state.appliedAttributes().isEmpty()) {
+                resetCareer(player);
+            }
             return;
         }
-        CareerConfigManager.findCareer(careerId.get()).ifPresent(def -> applyAttributes(player, def));
+        CareerDefinition def = CareerConfigManager.getCatalog().get(careerId);
+        if (def != null) {
+            applyAttributes(player, def, force);
+        } else {
+            ExampleMod.LOGGER.warn("玩家 {} 的职业 {} 已不存在，可使用 /career migrate 迁移", player.getGameProfile().getName(), careerId);
+            // 职业 ID 保留以便迁移或重新加入配置，但已不存在的职业不应继续提供加成
+            if (!state.appliedAttributes().isEmpty()) {
+                revertApplied(player, state);
+                CareerPlayerData.setAppliedAttributes(player, null, List.of(), 0);
+            }
+        }
     }
 
     public static boolean chooseCareer(ServerPlayer player, String id) {
-        var current = CareerPlayerData.getCareerId(player);
-        if (current.isPresent()) {
+        String current = CareerPlayerData.getCareerId(player);
+        if (current != null) {
             if (CareerConfigManager.isLockAfterChoice()) {
                 return false; // 不允许切换
             }
-            if (current.get().equals(id)) {
+            if (current.equals(id)) {
                 return false; // 已经是该职业
             }
         }
@@ -48,90 +73,92 @@ public final class CareerService {
         }
 
         CareerPlayerData.setCareerId(player, id);
-        applyAttributes(player, def.get());
+        CareerAttributeScheduler.markDirty(player, false);
         giveStartingItems(player, def.get());
+        CareerPromptHandler.onCareerChosen(player);
         return true;
     }
 
-    private static void applyAttributes(ServerPlayer player, CareerDefinition def) {
-        if (!ModList.get().isLoaded("playerattributemanagement")) {
-            if (!warnedMissingApi) {
-                ExampleMod.LOGGER.error("未找到 playerattributemanagement 模组，职业属性加成无法生效");
-                warnedMissingApi = true;
-            }
-            return;
+    /**
+     * 管理员指派职业：不受选择后锁定的限制，其余流程与 {@link #chooseCareer} 相同。
+     * 职业不存在或玩家已是该职业时返回 false。
+     */
+    public static boolean assignCareer(ServerPlayer player, String id) {
+        CareerDefinition def = CareerConfigManager.getCatalog().get(id);
+        if (def == null || def.id().equals(CareerPlayerData.getCareerId(player))) {
+            return false;
         }
+        CareerPlayerData.setCareerId(player, def.id());
+        CareerAttributeScheduler.markDirty(player, false);
+        giveStartingItems(player, def);
+        CareerPromptHandler.onCareerChosen(player);
+        return true;
+    }
 
-        Set<ResourceLocation> newIds = def.attributes().stream()
-                .map(CareerDefinition.AttributeBonus::attributeId)
-                .collect(Collectors.toSet());
+    /**
+     * 清除玩家职业并撤销已应用的属性加成，之后重新提示选择职业。
+     * 初始物品领取记录保留，重新选择不会再次发放。未选择职业时返回 false。
+     */
+    public static boolean resetCareer(ServerPlayer player) {
+        CareerPlayerState state = CareerPlayerData.state(player);
+        if (!state.hasCareer() && state.appliedAttributes().isEmpty()) {
+            return false;
+        }
+        revertApplied(player, state);
+        CareerPlayerData.clearCareer(player);
+        CareerPromptHandler.onCareerReset(player);
+        return true;
+    }
 
-        Set<ResourceLocation> previous = readAppliedAttributes(player);
+    private static void revertApplied(ServerPlayer player, CareerPlayerState state) {
+        for (String raw : state.appliedAttributes()) {
+            ResourceLocation id = ResourceLocation.tryParse(raw);
+            if (id != null) {
+                BACKEND.reset(player, id);
+            }
+        }
+    }
 
-        for (CareerDefinition.AttributeBonus bonus : def.attributes()) {
+    private static void applyAttributes(ServerPlayer player, CareerDefinition def, boolean force) {
+        CareerCatalog catalog = CareerConfigManager.getCatalog();
+        CareerAttributePlan plan = catalog.plan(def.id());
+        if (plan == null) {
+            return;
+        }
+        CareerPlayerState state = CareerPlayerData.state(player);
+        long fingerprint = plan.fingerprint(BACKEND.id());
+        boolean upToDate = plan.upToDate(state.appliedCareer(), state.appliedAttributes());
+        if (upToDate && !force && fingerprint == state.appliedFingerprint()) {
+            return; // 配置与后端均未变化，上次应用的结果仍然有效
+        }
+
+        for (int i = 0; i < plan.size(); i++) {
             try {
-                PlayerAttributeApi.setExtra(player, bonus.attributeId(), bonus.value());
+                BACKEND.set(player, plan.id(i), plan.value(i));
             } catch (IllegalArgumentException ex) {
-                ExampleMod.LOGGER.warn("应用属性 {} 失败: {}", bonus.attributeId(), ex.getMessage());
+                ExampleMod.LOGGER.warn("应用属性 {} 失败: {}", plan.id(i), ex.getMessage());
             }
         }
+        if (upToDate) {
+            if (fingerprint != state.appliedFingerprint()) {
+                CareerPlayerData.setAppliedAttributes(player, plan.careerId(), plan.idStrings(), fingerprint);
+            }
+            return;
+        }
 
         // 清理不再存在的旧属性
-        for (ResourceLocation oldId : previous) {
-            if (!newIds.contains(oldId)) {
-                try {
-                    PlayerAttributeApi.resetExtra(player, oldId);
-                } catch (IllegalArgumentException ignored) {
-                    // 忽略不受管的属性
-                }
-            }
+        for (ResourceLocation oldId : catalog.staleAttributes(state.appliedCareer(), state.appliedAttributes(), plan)) {
+            BACKEND.reset(player, oldId);
         }
 
-        storeAppliedAttributes(player, newIds);
+        CareerPlayerData.setAppliedAttributes(player, plan.careerId(), plan.idStrings(), fingerprint);
     }
 
     private static void giveStartingItems(ServerPlayer player, CareerDefinition def) {
         if (CareerPlayerData.hasGrantedItems(player)) {
             return;
         }
-        for (CareerDefinition.StartingItem item : def.startingItems()) {
-            Item mcItem = ForgeRegistries.ITEMS.getValue(item.itemId());
-            if (mcItem == null) {
-                ExampleMod.LOGGER.warn("初始物品不存在: {}", item.itemId());
-                continue;
-            }
-            ItemStack stack = new ItemStack(mcItem, item.count());
-            boolean added = player.getInventory().add(stack);
-            if (!added) {
-                player.drop(stack, false);
-            }
-        }
+        CareerConfigManager.getCatalog().kit(def).grant(player);
         CareerPlayerData.markGrantedItems(player);
     }
-
-    private static Set<ResourceLocation> readAppliedAttributes(ServerPlayer player) {
-        var tag = CareerPlayerData.getOrCreateRoot(player);
-        Set<ResourceLocation> result = new HashSet<>();
-        if (tag.contains(KEY_ATTR_LIST)) {
-            var listTag = tag.getList(KEY_ATTR_LIST, 8); // 8 = string
-            for (int i = 0; i < listTag.size(); i++) {
-                String raw = listTag.getString(i);
-                ResourceLocation id = ResourceLocation.tryParse(raw);
-                if (id != null) {
-                    result.add(id);
-                }
-            }
-        }
-        return result;
-    }
-
-    private static void storeAppliedAttributes(ServerPlayer player, Set<ResourceLocation> ids) {
-        var listTag = new net.minecraft.nbt.ListTag();
-        for (ResourceLocation id : ids) {
-            listTag.add(net.minecraft.nbt.StringTag.valueOf(id.toString()));
-        }
-        var tag = CareerPlayerData.getOrCreateRoot(player);
-        tag.put(KEY_ATTR_LIST, listTag);
-        player.getPersistentData().put(ExampleMod.MODID, tag);
-    }
 }
@@ -0,0 +1,321 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.saveddata.SavedData;
+
+import java.io.File;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 世界级职业数据，保存在存档 data/initialattributesitems_careers.dat 中，按 UUID 索引所有玩家的职业，
+ * 查询离线玩家无需读取其 playerdata 文件。由 {@link CareerPlayerData} 的每次写入同步更新，只在主线程访问。
+ * <p>
+ * 记录以紧凑二进制存放在一个字节数组标签中：每条为 UUID（16 字节）、标志字节、职业在字符串表中的下标（varint，0 表示无）。
+ * <p>
+ * 另存一份只追加的属性调色板，玩家 NBT 中的已应用属性以其下标数组保存。调色板随本数据在存档时写盘，
+ * 尚未写盘的下标在崩溃后无法解析，因此玩家记录引用这些下标时另附属性 ID 列表（见 {@link CareerPlayerData}）。
+ * <p>
+ * 同时按职业维护人数统计：选择人数与物品发放次数随记录变化增量更新并随存档保存，
+ * 在线人数只在内存中随登录/登出维护。查询统计与玩家总数无关。
+ */
+public final class CareerWorldData extends SavedData {
+    private static final String NAME = ExampleMod.MODID + "_careers";
+    private static final String KEY_CAREERS = "careers";
+    private static final String KEY_RECORDS = "records";
+    private static final String KEY_STATS = "stats";
+    private static final String KEY_ATTRIBUTES = "attributes";
+    private static final int FLAG_ITEMS_GRANTED = 1;
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<String, CareerCounts> counts = new HashMap<>();
+    // 在线玩家及其当前职业（可为 null），用于职业变更时同步在线人数
+    private final Map<UUID, String> online = new HashMap<>();
+    // 属性调色板：只追加不删除，玩家 NBT 中的已应用属性记录为其下标
+    private final List<String> attributes = new ArrayList<>();
+    private final Map<String, Integer> attributeIndices = new HashMap<>();
+    // 已随本数据写入磁盘的调色板条目数
+    private int durableAttributes;
+
+    /**
+     * 单个玩家的世界级记录。
+     */
+    public record Entry(String careerId, boolean itemsGranted) {}
+
+    private CareerWorldData() {}
+
+    public static CareerWorldData get(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(CareerWorldData::load, CareerWorldData::new, NAME);
+    }
+
+    /**
+     * 玩家的记录，从未记录过时返回 null。
+     */
+    public Entry lookup(UUID playerId) {
+        return entries.get(playerId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 属性 ID 在调色板中的下标，不存在时追加，随下次存档写盘。
+     */
+    int attributeIndex(String attributeId) {
+        Integer index = attributeIndices.get(attributeId);
+        if (index != null) {
+            return index;
+        }
+        String id = attributeId.intern();
+        attributes.add(id);
+        attributeIndices.put(id, attributes.size() - 1);
+        setDirty();
+        return attributes.size() - 1;
+    }
+
+    /**
+     * 该下标是否已写入磁盘上的存档，崩溃后仍能解析。
+     */
+    boolean attributeDurable(int index) {
+        return index < durableAttributes;
+    }
+
+    /**
+     * 调色板下标对应的属性 ID，越界时返回 null。
+     */
+    String attribute(int index) {
+        return index >= 0 && index < attributes.size() ? attributes.get(index) : null;
+    }
+
+    /**
+     * 各职业的统计，键为职业 ID（包含已从配置中移除但仍有记录的职业）。
+     */
+    public Map<String, CareerCounts> counts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * 用玩家的当前状态覆盖记录并增量更新统计，内容相同时不标记保存。
+     */
+    void update(UUID playerId, CareerPlayerState state) {
+        update(playerId, new Entry(state.careerId(), state.itemsGranted()));
+    }
+
+    /**
+     * 离线迁移改写玩家文件后调用：只替换记录中的职业 ID，没有记录的玩家不补录（登录时会以 NBT 为准同步）。
+     */
+    void migrate(UUID playerId, String careerId) {
+        Entry previous = entries.get(playerId);
+        if (previous != null) {
+            update(playerId, new Entry(careerId, previous.itemsGranted()));
+        }
+    }
+
+    /**
+     * 启动时按职业日志补齐崩溃前未保存的记录；物品发放标记只会补上不会清除。
+     */
+    void recover(UUID playerId, String careerId, boolean itemsGranted) {
+        Entry previous = entries.get(playerId);
+        update(playerId, new Entry(careerId, itemsGranted || (previous != null && previous.itemsGranted())));
+    }
+
+    private void update(UUID playerId, Entry next) {
+        Entry previous = entries.put(playerId, next);
+        if (next.equals(previous)) {
+            return;
+        }
+        String oldCareer = previous == null ? null : previous.careerId();
+        if (!Objects.equals(oldCareer, next.careerId())) {
+            adjust(oldCareer, -1, 0, 0);
+            adjust(next.careerId(), 1, 0, 0);
+            if (online.containsKey(playerId)) {
+                online.put(playerId, next.careerId());
+                adjust(oldCareer, 0, -1, 0);
+                adjust(next.careerId(), 0, 1, 0);
+            }
+        }
+        if (next.itemsGranted() && (previous == null || !previous.itemsGranted())) {
+            adjust(next.careerId(), 0, 0, 1);
+        }
+        setDirty();
+    }
+
+    /**
+     * 玩家登录且记录已同步后调用。
+     */
+    void playerOnline(UUID playerId) {
+        Entry entry = entries.get(playerId);
+        String careerId = entry == null ? null : entry.careerId();
+        if (!online.containsKey(playerId)) {
+            online.put(playerId, careerId);
+            adjust(careerId, 0, 1, 0);
+        }
+    }
+
+    void playerOffline(UUID playerId) {
+        if (online.containsKey(playerId)) {
+            adjust(online.remove(playerId), 0, -1, 0);
+        }
+    }
+
+    private void adjust(String careerId, int chosen, int onlineDelta, int granted) {
+        if (careerId == null) {
+            return;
+        }
+        CareerCounts c = counts.computeIfAbsent(careerId, k -> new CareerCounts());
+        c.chosen = Math.max(0, c.chosen + chosen);
+        c.online = Math.max(0, c.online + onlineDelta);
+        c.granted = Math.max(0, c.granted + granted);
+        if (c.chosen == 0 && c.online == 0 && c.granted == 0) {
+            counts.remove(careerId);
+        }
+    }
+
+    /**
+     * 单个职业的统计：chosen 为当前持有该职业的玩家数，online 为其中在线的人数，granted 为以该职业发放初始物品的次数。
+     */
+    public static final class CareerCounts {
+        private int chosen;
+        private int online;
+        private int granted;
+
+        public int chosen() {
+            return chosen;
+        }
+
+        public int online() {
+            return online;
+        }
+
+        public int granted() {
+            return granted;
+        }
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag) {
+        Map<String, Integer> palette = new HashMap<>();
+        ListTag careers = new ListTag();
+        ByteBuffer buf = ByteBuffer.allocate(entries.size() * 22);
+        for (Map.Entry<UUID, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            buf.putLong(e.getKey().getMostSignificantBits());
+            buf.putLong(e.getKey().getLeastSignificantBits());
+            buf.put((byte) (entry.itemsGranted() ? FLAG_ITEMS_GRANTED : 0));
+            int index = 0;
+            if (entry.careerId() != null) {
+                index = palette.computeIfAbsent(entry.careerId(), id -> {
+                    careers.add(StringTag.valueOf(id));
+                    return careers.size();
+                });
+            }
+            writeVarInt(buf, index);
+        }
+        byte[] records = new byte[buf.position()];
+        buf.flip().get(records);
+        tag.put(KEY_CAREERS, careers);
+        tag.putByteArray(KEY_RECORDS, records);
+
+        CompoundTag stats = new CompoundTag();
+        for (Map.Entry<String, CareerCounts> e : counts.entrySet()) {
+            if (e.getValue().chosen > 0 || e.getValue().granted > 0) {
+                stats.putIntArray(e.getKey(), new int[]{e.getValue().chosen, e.getValue().granted});
+            }
+        }
+        tag.put(KEY_STATS, stats);
+
+        ListTag attributeList = new ListTag();
+        for (String id : attributes) {
+            attributeList.add(StringTag.valueOf(id));
+        }
+        tag.put(KEY_ATTRIBUTES, attributeList);
+        return tag;
+    }
+
+    @Override
+    public void save(File file) {
+        boolean dirty = isDirty();
+        int size = attributes.size();
+        super.save(file);
+        if (dirty) {
+            durableAttributes = size;
+        }
+    }
+
+    private static CareerWorldData load(CompoundTag tag) {
+        CareerWorldData data = new CareerWorldData();
+        ListTag attributeList = tag.getList(KEY_ATTRIBUTES, Tag.TAG_STRING);
+        for (int i = 0; i < attributeList.size(); i++) {
+            String id = attributeList.getString(i).intern();
+            data.attributes.add(id);
+            data.attributeIndices.putIfAbsent(id, i);
+        }
+        data.durableAttributes = data.attributes.size();
+        ListTag careers = tag.getList(KEY_CAREERS, Tag.TAG_STRING);
+        List<String> palette = new ArrayList<>(careers.size());
+        for (int i = 0; i < careers.size(); i++) {
+            palette.add(careers.getString(i).intern());
+        }
+        ByteBuffer buf = ByteBuffer.wrap(tag.getByteArray(KEY_RECORDS));
+        try {
+            while (buf.hasRemaining()) {
+                UUID id = new UUID(buf.getLong(), buf.getLong());
+                boolean itemsGranted = (buf.get() & FLAG_ITEMS_GRANTED) != 0;
+                int index = readVarInt(buf);
+                String careerId = index == 0 ? null : palette.get(index - 1);
+                data.entries.put(id, new Entry(careerId, itemsGranted));
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            ExampleMod.LOGGER.error("世界职业数据损坏，已读取 {} 条记录，其余将在玩家登录时重建", data.entries.size(), e);
+        }
+
+        if (tag.contains(KEY_STATS, Tag.TAG_COMPOUND)) {
+            CompoundTag stats = tag.getCompound(KEY_STATS);
+            for (String careerId : stats.getAllKeys()) {
+                int[] values = stats.getIntArray(careerId);
+                if (values.length >= 2) {
+                    data.adjust(careerId, values[0], 0, values[1]);
+                }
+            }
+        } else {
+            // 旧存档没有统计，按现有记录重建；发放次数只能按当前职业近似
+            for (Entry entry : data.entries.values()) {
+                data.adjust(entry.careerId(), 1, 0, entry.itemsGranted() ? 1 : 0);
+            }
+        }
+        return data;
+    }
+
+    private static void writeVarInt(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    private static int readVarInt(ByteBuffer buf) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buf.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IndexOutOfBoundsException("varint 过长");
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.examplemod.career;
+
+import com.example.playerattributemanagement.api.PlayerAttributeApi;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * 通过 playerattributemanagement 的额外属性接口应用加成。只有在该模组已加载时才会实例化，
+ * 未安装时不会触发对其 API 类的加载。
+ * <p>
+ * 存档可能曾在未安装该模组时以原版修饰符运行过，设置与撤销时一并移除残留的原版修饰符。
+ */
+final class PlayerAttributeApiBackend implements AttributeBackend {
+    static final String MOD_ID = "playerattributemanagement";
+
+    @Override
+    public String id() {
+        return MOD_ID;
+    }
+
+    @Override
+    public void set(ServerPlayer player, ResourceLocation attribute, double value) {
+        VanillaAttributeBackend.removeModifier(player, attribute);
+        PlayerAttributeApi.setExtra(player, attribute, value);
+    }
+
+    @Override
+    public void reset(ServerPlayer player, ResourceLocation attribute) {
+        VanillaAttributeBackend.removeModifier(player, attribute);
+        try {
+            PlayerAttributeApi.resetExtra(player, attribute);
+        } catch (IllegalArgumentException ignored) {
+            // 忽略不受管的属性
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.examplemod.career;
+
+import com.example.examplemod.ExampleMod;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.ai.attributes.Attribute;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.AttributeModifier;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 不依赖其他模组的后端：直接在玩家的 {@link AttributeInstance} 上挂永久加法修饰符，随实体 NBT 保存。
+ * <p>
+ * 修饰符 UUID 由属性 ID 经 nameUUIDFromBytes 得出，对同一属性固定不变：切换职业时同一属性只需原地比对数值，
+ * 数值相同则不动，不同才替换，不会残留旧职业的修饰符。
+ */
+final class VanillaAttributeBackend implements AttributeBackend {
+    private static final String MODIFIER_NAME = ExampleMod.MODID + " career";
+    private static final Map<ResourceLocation, UUID> modifierIds = new ConcurrentHashMap<>();
+
+    @Override
+    public String id() {
+        return "vanilla";
+    }
+
+    @Override
+    public void set(ServerPlayer player, ResourceLocation attribute, double value) {
+        AttributeInstance instance = instance(player, attribute);
+        if (instance == null) {
+            throw new IllegalArgumentException("玩家没有属性 " + attribute);
+        }
+        UUID id = modifierId(attribute);
+        AttributeModifier existing = instance.getModifier(id);
+        if (existing != null) {
+            if (existing.getAmount() == value && existing.getOperation() == AttributeModifier.Operation.ADDITION) {
+                return;
+            }
+            instance.removeModifier(id);
+        }
+        instance.addPermanentModifier(new AttributeModifier(id, MODIFIER_NAME, value, AttributeModifier.Operation.ADDITION));
+    }
+
+    @Override
+    public void reset(ServerPlayer player, ResourceLocation attribute) {
+        removeModifier(player, attribute);
+    }
+
+    /**
+     * 移除本后端挂在该属性上的修饰符（如有）。其他后端设置或撤销加成时也会调用，
+     * 以清理曾用本后端运行时保存在实体 NBT 中的修饰符，避免换后端后加成叠加。
+     */
+    static void removeModifier(ServerPlayer player, ResourceLocation attribute) {
+        AttributeInstance instance = instance(player, attribute);
+        if (instance != null && instance.getModifier(modifierId(attribute)) != null) {
+            instance.removeModifier(modifierId(attribute));
+        }
+    }
+
+    private static AttributeInstance instance(ServerPlayer player, ResourceLocation attribute) {
+        Attribute type = ForgeRegistries.ATTRIBUTES.getValue(attribute);
+        return type == null ? null : player.getAttribute(type);
+    }
+
+    private static UUID modifierId(ResourceLocation attribute) {
+        return modifierIds.computeIfAbsent(attribute, a ->
+                UUID.nameUUIDFromBytes((ExampleMod.MODID + ":career/" + a).getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -5,6 +5,7 @@ import com.example.examplemod.network.CareerNetwork;
 import com.example.examplemod.network.CareerNetwork.CareerDataPacket;
 import com.example.examplemod.client.ClientGuiConfig;
 import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
@@ -19,24 +20,44 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.registries.ForgeRegistries;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * 职业选择/查看界面，展示玩家模型、职业信息与初始物品。
  */
 public class CareerScreen extends Screen {
+    /** 分页模式下当前职业前后各预取的职业数。 */
+    private static final int PREFETCH = 3;
+    /** 详情页请求发出后未收到回复（被限流或丢弃）时重新请求的间隔。 */
+    private static final long PAGE_RETRY_MILLIS = 2000;
+
     private final List<ClientCareer> careers;
     private final String lockedId;
+    /** 分页模式下所持索引的哈希；完整列表模式为 null。 */
+    private final byte[] indexHash;
+    private final Set<Integer> loadedPages = new HashSet<>();
+    /** 已请求但尚未收到的页及请求时间。 */
+    private final Map<Integer, Long> inFlightPages = new HashMap<>();
     private int currentIndex = 0;
     private Button chooseButton;
     private Button prevButton;
     private Button nextButton;
 
     public CareerScreen(List<ClientCareer> careers, String lockedId) {
+        this(careers, lockedId, null);
+    }
+
+    private CareerScreen(List<ClientCareer> careers, String lockedId, byte[] indexHash) {
         super(Component.literal("职业面板"));
         this.careers = careers;
         this.lockedId = lockedId;
+        this.indexHash = indexHash;
         if (!careers.isEmpty() && lockedId != null) {
             for (int i = 0; i < careers.size(); i++) {
                 if (Objects.equals(careers.get(i).id(), lockedId)) {
@@ -47,9 +68,74 @@ public class CareerScreen extends Screen {
         }
     }
 
-    public static void open(CareerDataPacket packet) {
-        List<ClientCareer> careers = packet.careers().stream().map(ClientCareer::fromSnapshot).toList();
-        Minecraft.getInstance().setScreen(new CareerScreen(careers, packet.selectedId()));
+    public static void open(List<CareerDataPacket.CareerSnapshot> snapshots, String selectedId) {
+        List<ClientCareer> careers = snapshots.stream().map(ClientCareer::fromSnapshot).toList();
+        Minecraft.getInstance().setScreen(new CareerScreen(careers, selectedId));
+    }
+
+    /**
+     * 分页模式：先用索引中的名称与图标占位，详情在浏览时按页向服务端请求。
+     */
+    public static void openPaged(byte[] indexHash, List<CareerNetwork.CareerIndexEntry> index, String selectedId) {
+        List<ClientCareer> careers = new ArrayList<>(index.size());
+        for (CareerNetwork.CareerIndexEntry entry : index) {
+            careers.add(ClientCareer.placeholder(entry));
+        }
+        Minecraft.getInstance().setScreen(new CareerScreen(careers, selectedId, indexHash));
+    }
+
+    /**
+     * 收到一页职业详情，替换对应的占位条目。
+     */
+    public void acceptPage(byte[] hash, int page, List<CareerDataPacket.CareerSnapshot> snapshots) {
+        if (indexHash == null || !Arrays.equals(indexHash, hash)) {
+            return;
+        }
+        loadedPages.add(page);
+        inFlightPages.remove(page);
+        int base = page * CareerNetwork.PAGE_SIZE;
+        for (int i = 0; i < snapshots.size() && base + i < careers.size(); i++) {
+            CareerDataPacket.CareerSnapshot snap = snapshots.get(i);
+            if (snap.id().equals(careers.get(base + i).id())) {
+                careers.set(base + i, ClientCareer.fromSnapshot(snap));
+            }
+        }
+    }
+
+    /**
+     * 确保当前职业及前后 {@link #PREFETCH} 个职业所在的页已加载或正在请求；
+     * 超过 {@link #PAGE_RETRY_MILLIS} 仍未收到的页重新请求。
+     */
+    private void requestVisiblePages() {
+        if (indexHash == null || careers.isEmpty()) {
+            return;
+        }
+        long now = Util.getMillis();
+        for (int offset = -PREFETCH; offset <= PREFETCH; offset++) {
+            int page = Math.floorMod(currentIndex + offset, careers.size()) / CareerNetwork.PAGE_SIZE;
+            if (loadedPages.contains(page)) {
+                continue;
+            }
+            Long requestedAt = inFlightPages.get(page);
+            if (requestedAt != null && now - requestedAt < PAGE_RETRY_MILLIS) {
+                continue;
+            }
+            List<CareerDataPacket.CareerSnapshot> cached = ClientCareerCache.page(indexHash, page);
+            if (cached != null) {
+                acceptPage(indexHash, page, cached);
+            } else {
+                inFlightPages.put(page, now);
+                CareerNetwork.CHANNEL.sendToServer(new CareerNetwork.RequestCareerPagePacket(indexHash, page));
+            }
+        }
+    }
+
+    @Override
+    public void tick() {
+        super.tick();
+        if (!inFlightPages.isEmpty()) {
+            requestVisiblePages();
+        }
     }
 
     @Override
@@ -76,18 +162,21 @@ public class CareerScreen extends Screen {
         chooseButton.active = !careers.isEmpty() && !hasCareer && !CareerConfigManager.isLockAfterChoice();
         addRenderableWidget(chooseButton);
         updateButtonStates();
+        requestVisiblePages();
     }
 
     private void selectPrevious() {
         if (careers.isEmpty()) return;
         currentIndex = (currentIndex - 1 + careers.size()) % careers.size();
         updateButtonStates();
+        requestVisiblePages();
     }
 
     private void selectNext() {
         if (careers.isEmpty()) return;
         currentIndex = (currentIndex + 1) % careers.size();
         updateButtonStates();
+        requestVisiblePages();
     }
 
     private void updateButtonStates() {
@@ -100,6 +189,13 @@ public class CareerScreen extends Screen {
         }
     }
 
+    /**
+     * 服务端拒绝本次选择后恢复按钮状态，允许重新选择。
+     */
+    public void onChoiceRejected() {
+        updateButtonStates();
+    }
+
     private void submitSelection() {
         ClientCareer current = getCurrentCareer();
         if (current == null) {
@@ -179,8 +275,7 @@ public class CareerScreen extends Screen {
                                List<AttributeLine> attributes,
                                List<ItemStack> items) {
         static ClientCareer fromSnapshot(CareerDataPacket.CareerSnapshot snap) {
-            Item iconItem = ForgeRegistries.ITEMS.getValue(snap.icon());
-            ItemStack iconStack = new ItemStack(iconItem != null ? iconItem : net.minecraft.world.item.Items.BOOK);
+            ItemStack iconStack = iconStack(snap.icon());
             List<ItemStack> stacks = new ArrayList<>();
             for (CareerDataPacket.ItemStackEntry entry : snap.items()) {
                 Item item = ForgeRegistries.ITEMS.getValue(entry.itemId());
@@ -194,6 +289,15 @@ public class CareerScreen extends Screen {
             return new ClientCareer(snap.id(), snap.name(), snap.description(), iconStack, attrs, stacks);
         }
 
+        static ClientCareer placeholder(CareerNetwork.CareerIndexEntry entry) {
+            return new ClientCareer(entry.id(), entry.name(), "加载中...", iconStack(entry.icon()), List.of(), List.of());
+        }
+
+        private static ItemStack iconStack(ResourceLocation icon) {
+            Item iconItem = ForgeRegistries.ITEMS.getValue(icon);
+            return new ItemStack(iconItem != null ? iconItem : net.minecraft.world.item.Items.BOOK);
+        }
+
         public record AttributeLine(ResourceLocation id, double value) {
             String display() {
                 String key = buildKey(id);
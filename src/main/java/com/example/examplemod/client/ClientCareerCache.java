@@ -0,0 +1,136 @@
+package com.example.examplemod.client;
+
+import com.example.examplemod.ExampleMod;
+import com.example.examplemod.network.CareerNetwork;
+import com.example.examplemod.network.CareerNetwork.CareerDataPacket;
+import com.example.examplemod.network.CareerNetwork.CareerIndexEntry;
+import net.minecraft.Util;
+import net.minecraftforge.fml.loading.FMLPaths;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 客户端职业列表缓存：保留最近一次收到的列表（或分页索引），以服务端下发的内容哈希为键。
+ * 内存中保存解码结果，磁盘上保存原始字节及其格式，重启游戏后仍可命中。
+ * 分页格式的详情页只缓存在内存中，随索引哈希变化而清空。
+ */
+public final class ClientCareerCache {
+    /** SHA-256 内容哈希的长度。 */
+    private static final int HASH_LENGTH = 32;
+    private static final Path CACHE_PATH = FMLPaths.CONFIGDIR.get().resolve(ExampleMod.MODID).resolve("career_catalog.cache");
+
+    private static byte[] cachedHash;
+    private static Cached cached;
+    private static final Map<Integer, List<CareerDataPacket.CareerSnapshot>> cachedPages = new HashMap<>();
+    private static boolean diskChecked = false;
+
+    private ClientCareerCache() {}
+
+    /**
+     * 缓存内容：完整职业列表，或分页格式下的索引（两者只有一个非 null）。
+     */
+    public record Cached(List<CareerDataPacket.CareerSnapshot> careers, List<CareerIndexEntry> index) {}
+
+    /**
+     * 查找与哈希匹配的缓存，未命中返回 null。只在客户端主线程调用。
+     */
+    public static Cached lookup(byte[] hash) {
+        if (cachedHash == null && !diskChecked) {
+            diskChecked = true;
+            loadFromDisk();
+        }
+        return Arrays.equals(cachedHash, hash) ? cached : null;
+    }
+
+    /**
+     * 记录新收到的完整职业列表，并在 IO 线程写入磁盘。
+     */
+    public static void store(int format, byte[] encodedCareers, List<CareerDataPacket.CareerSnapshot> careers) {
+        remember(format, encodedCareers, new Cached(careers, null));
+    }
+
+    /**
+     * 记录新收到的分页索引，返回其哈希。
+     */
+    public static byte[] storeIndex(byte[] encodedIndex, List<CareerIndexEntry> index) {
+        return remember(CareerNetwork.FORMAT_PAGED, encodedIndex, new Cached(null, index));
+    }
+
+    public static List<CareerDataPacket.CareerSnapshot> page(byte[] indexHash, int page) {
+        return Arrays.equals(cachedHash, indexHash) ? cachedPages.get(page) : null;
+    }
+
+    public static void storePage(byte[] indexHash, int page, List<CareerDataPacket.CareerSnapshot> careers) {
+        if (Arrays.equals(cachedHash, indexHash)) {
+            cachedPages.put(page, careers);
+        }
+    }
+
+    private static byte[] remember(int format, byte[] encoded, Cached value) {
+        byte[] hash = CareerDataPacket.contentHash(encoded);
+        if (Arrays.equals(cachedHash, hash)) {
+            return cachedHash;
+        }
+        cachedHash = hash;
+        cached = value;
+        cachedPages.clear();
+        diskChecked = true;
+        Util.ioPool().execute(() -> writeToDisk(format, hash, encoded));
+        return hash;
+    }
+
+    private static void loadFromDisk() {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(CACHE_PATH));
+            int format = buf.getInt();
+            int hashLength = buf.getInt();
+            // 长度来自磁盘，不可信：与预期的哈希长度或剩余字节不符时按未命中处理
+            if (hashLength != HASH_LENGTH || hashLength > buf.remaining()) {
+                return;
+            }
+            byte[] hash = new byte[hashLength];
+            buf.get(hash);
+            byte[] encoded = new byte[buf.remaining()];
+            buf.get(encoded);
+            // 文件被截断或篡改时哈希对不上，直接丢弃
+            if (!Arrays.equals(hash, CareerDataPacket.contentHash(encoded))) {
+                return;
+            }
+            cached = format >= CareerNetwork.FORMAT_PAGED
+                    ? new Cached(null, CareerDataPacket.decodeIndex(encoded))
+                    : new Cached(CareerDataPacket.decodeCareers(format, encoded), null);
+            cachedHash = hash;
+        } catch (NoSuchFileException e) {
+            // 尚无缓存
+        } catch (IOException | RuntimeException e) {
+            ExampleMod.LOGGER.warn("读取职业列表缓存失败，将向服务端重新请求: {}", e.toString());
+        }
+    }
+
+    private static synchronized void writeToDisk(int format, byte[] hash, byte[] encodedCareers) {
+        try {
+            Files.createDirectories(CACHE_PATH.getParent());
+            ByteBuffer buf = ByteBuffer.allocate(8 + hash.length + encodedCareers.length);
+            buf.putInt(format).putInt(hash.length).put(hash).put(encodedCareers);
+            Path temp = CACHE_PATH.resolveSibling(CACHE_PATH.getFileName() + ".tmp");
+            Files.write(temp, buf.array());
+            try {
+                Files.move(temp, CACHE_PATH, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, CACHE_PATH, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            ExampleMod.LOGGER.warn("写入职业列表缓存失败", e);
+        }
+    }
+}
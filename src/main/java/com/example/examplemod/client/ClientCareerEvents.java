@@ -0,0 +1,23 @@
+package com.example.examplemod.client;
+
+import com.example.examplemod.ExampleMod;
+import com.example.examplemod.network.CareerNetwork;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * 客户端事件：进入世界后向服务端声明支持的职业数据格式。
+ */
+@Mod.EventBusSubscriber(modid = ExampleMod.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class ClientCareerEvents {
+
+    @SubscribeEvent
+    public static void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        // 服务端未安装本模组时通道不存在，不发送握手
+        if (CareerNetwork.CHANNEL.isRemotePresent(event.getConnection())) {
+            CareerNetwork.CHANNEL.sendToServer(new CareerNetwork.ClientHelloPacket(CareerNetwork.CLIENT_FORMAT));
+        }
+    }
+}
@@ -1,32 +1,168 @@
 package com.example.examplemod.command;
 
+import com.example.examplemod.career.CareerAttributeScheduler;
+import com.example.examplemod.career.CareerBulkHandler;
 import com.example.examplemod.career.CareerConfigManager;
+import com.example.examplemod.career.CareerDefinition;
+import com.example.examplemod.career.CareerMigration;
 import com.example.examplemod.career.CareerPlayerData;
+import com.example.examplemod.career.CareerReloadHandler;
+import com.example.examplemod.career.CareerWorldData;
 import com.example.examplemod.network.CareerNetwork;
+import com.example.examplemod.network.CareerRequestLimiter;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.commands.arguments.EntityArgument;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
 public final class CareerCommand {
     private CareerCommand() {}
 
     public static LiteralArgumentBuilder<CommandSourceStack> register() {
         return Commands.literal("career")
                 .requires(cs -> cs.hasPermission(0))
-                .executes(CareerCommand::openCareerScreen);
+                .executes(CareerCommand::openCareerScreen)
+                .then(Commands.literal("reload")
+                        .requires(cs -> cs.hasPermission(2))
+                        .executes(CareerCommand::reloadCareers))
+                .then(Commands.literal("netstats")
+                        .requires(cs -> cs.hasPermission(2))
+                        .executes(CareerCommand::showNetStats))
+                .then(Commands.literal("stats")
+                        .requires(cs -> cs.hasPermission(2))
+                        .executes(CareerCommand::showStats))
+                .then(Commands.literal("assign")
+                        .requires(cs -> cs.hasPermission(2))
+                        .then(Commands.argument("targets", EntityArgument.players())
+                                .then(Commands.argument("id", StringArgumentType.string())
+                                        .suggests((ctx, builder) -> SharedSuggestionProvider.suggest(
+                                                CareerConfigManager.getCareers().stream().map(CareerDefinition::id), builder))
+                                        .executes(CareerCommand::assignCareers))))
+                .then(Commands.literal("reset")
+                        .requires(cs -> cs.hasPermission(2))
+                        .then(Commands.argument("targets", EntityArgument.players())
+                                .executes(CareerCommand::resetCareers)))
+                .then(Commands.literal("migrate")
+                        .requires(cs -> cs.hasPermission(3))
+                        .then(Commands.literal("rename")
+                                .then(Commands.argument("from", StringArgumentType.string())
+                                        .suggests((ctx, builder) -> SharedSuggestionProvider.suggest(
+                                                CareerWorldData.get(ctx.getSource().getServer()).counts().keySet(), builder))
+                                        .then(Commands.argument("to", StringArgumentType.string())
+                                                .suggests((ctx, builder) -> SharedSuggestionProvider.suggest(
+                                                        CareerConfigManager.getCareers().stream().map(CareerDefinition::id), builder))
+                                                .executes(ctx -> migrateCareers(ctx, true)))))
+                        .then(Commands.literal("remove")
+                                .then(Commands.argument("from", StringArgumentType.string())
+                                        .suggests((ctx, builder) -> SharedSuggestionProvider.suggest(
+                                                CareerWorldData.get(ctx.getSource().getServer()).counts().keySet(), builder))
+                                        .executes(ctx -> migrateCareers(ctx, false)))));
     }
 
     private static int openCareerScreen(CommandContext<CommandSourceStack> ctx) throws CommandSyntaxException {
         ServerPlayer player = ctx.getSource().getPlayerOrException();
-        if (CareerConfigManager.isLockAfterChoice() && CareerPlayerData.getCareerId(player).isPresent()) {
+        if (CareerConfigManager.isLockAfterChoice() && CareerPlayerData.hasCareer(player)) {
             player.sendSystemMessage(Component.literal("已选择职业，无法再次打开职业面板"));
             return 0;
         }
         CareerNetwork.sendCareerData(player);
         return 1;
     }
+
+    private static int reloadCareers(CommandContext<CommandSourceStack> ctx) {
+        if (!CareerReloadHandler.reload(ctx.getSource())) {
+            ctx.getSource().sendFailure(Component.literal("职业配置正在重新加载，请稍后再试"));
+            return 0;
+        }
+        ctx.getSource().sendSuccess(() -> Component.literal("正在后台重新加载职业配置..."), false);
+        return 1;
+    }
+
+    private static int assignCareers(CommandContext<CommandSourceStack> ctx) throws CommandSyntaxException {
+        Collection<ServerPlayer> targets = EntityArgument.getPlayers(ctx, "targets");
+        String id = StringArgumentType.getString(ctx, "id").trim().toLowerCase(Locale.ROOT);
+        if (CareerConfigManager.findCareer(id).isEmpty()) {
+            ctx.getSource().sendFailure(Component.literal("职业不存在: " + id));
+            return 0;
+        }
+        return queueBulk(ctx.getSource(), targets, id);
+    }
+
+    private static int resetCareers(CommandContext<CommandSourceStack> ctx) throws CommandSyntaxException {
+        return queueBulk(ctx.getSource(), EntityArgument.getPlayers(ctx, "targets"), null);
+    }
+
+    private static int migrateCareers(CommandContext<CommandSourceStack> ctx, boolean rename) {
+        String from = StringArgumentType.getString(ctx, "from").trim().toLowerCase(Locale.ROOT);
+        String to = rename ? StringArgumentType.getString(ctx, "to").trim().toLowerCase(Locale.ROOT) : null;
+        if (to != null && CareerConfigManager.findCareer(to).isEmpty()) {
+            ctx.getSource().sendFailure(Component.literal("职业不存在: " + to));
+            return 0;
+        }
+        if (from.equals(to)) {
+            ctx.getSource().sendFailure(Component.literal("新旧职业 ID 相同"));
+            return 0;
+        }
+        if (!CareerMigration.start(ctx.getSource(), from, to)) {
+            ctx.getSource().sendFailure(Component.literal("已有职业迁移正在进行，请稍后再试"));
+            return 0;
+        }
+        return 1;
+    }
+
+    private static int queueBulk(CommandSourceStack source, Collection<ServerPlayer> targets, String careerId) {
+        int ahead = CareerBulkHandler.submit(source, targets, careerId);
+        String action = careerId == null ? "重置职业" : "指派职业 " + careerId;
+        source.sendSuccess(() -> Component.literal("已排队" + action + "：" + targets.size() + " 名玩家"
+                + (ahead > 0 ? "，前面还有 " + ahead + " 个批量任务" : "")), false);
+        return targets.size();
+    }
+
+    private static int showStats(CommandContext<CommandSourceStack> ctx) {
+        CareerWorldData data = CareerWorldData.get(ctx.getSource().getServer());
+        Map<String, CareerWorldData.CareerCounts> counts = data.counts();
+        CommandSourceStack source = ctx.getSource();
+        source.sendSuccess(() -> Component.literal("职业统计（共记录 " + data.size() + " 名玩家）："), false);
+        Set<String> listed = new HashSet<>();
+        for (CareerDefinition def : CareerConfigManager.getCareers()) {
+            listed.add(def.id());
+            sendStatsLine(source, def.name() + " (" + def.id() + ")", counts.get(def.id()));
+        }
+        // 已从配置中移除但仍有玩家记录的职业
+        for (Map.Entry<String, CareerWorldData.CareerCounts> e : counts.entrySet()) {
+            if (!listed.contains(e.getKey())) {
+                sendStatsLine(source, e.getKey() + "（配置中不存在）", e.getValue());
+            }
+        }
+        CareerAttributeScheduler.Stats apply = CareerAttributeScheduler.stats();
+        source.sendSuccess(() -> Component.literal(String.format("属性应用：请求 %d，实际应用 %d，合并 %d，待应用 %d",
+                apply.requested(), apply.applied(), apply.coalesced(), apply.pending())), false);
+        return counts.size();
+    }
+
+    private static void sendStatsLine(CommandSourceStack source, String label, CareerWorldData.CareerCounts c) {
+        String line = c == null ? label + "：选择 0，在线 0，发放物品 0"
+                : label + "：选择 " + c.chosen() + "，在线 " + c.online() + "，发放物品 " + c.granted();
+        source.sendSuccess(() -> Component.literal(line), false);
+    }
+
+    private static int showNetStats(CommandContext<CommandSourceStack> ctx) {
+        CareerRequestLimiter.Stats stats = CareerRequestLimiter.stats();
+        ctx.getSource().sendSuccess(() -> Component.literal(String.format(
+                "职业请求：已接受 %d，限流丢弃 %d，合并覆盖 %d，提前拒绝 %d，待处理 %d",
+                stats.accepted(), stats.rateLimited(), stats.coalesced(), stats.rejected(), stats.pending())), false);
+        return 1;
+    }
 }
@@ -0,0 +1,246 @@
+package com.example.examplemod.network;
+
+import com.example.examplemod.network.CareerNetwork.CareerIndexEntry;
+import com.example.examplemod.network.CareerNetwork.CareerDataPacket.AttributePair;
+import com.example.examplemod.network.CareerNetwork.CareerDataPacket.CareerSnapshot;
+import com.example.examplemod.network.CareerNetwork.CareerDataPacket.ItemStackEntry;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 紧凑职业列表格式：所有 ResourceLocation 去重后放入包内字符串表，条目中只写 varint 下标；
+ * 编码结果超过阈值时整体 deflate 压缩。
+ * <p>
+ * 布局：标志字节（bit0 = 已压缩）、[原始长度 varint]、正文；
+ * 正文为字符串表（varint 数量 + UTF），随后是职业列表。
+ * <p>
+ * 分页格式的两种载荷沿用同样的分帧与字符串表：索引正文为完整列表的内容哈希、字符串表与每个职业的 id、名称、图标下标；
+ * 详情页正文与整包列表相同，只是描述上限更高。每个载荷自带字符串表，详情页可以脱离索引单独解码。
+ */
+final class CareerCatalogCodec {
+    private static final int FLAG_DEFLATED = 1;
+    /** 小于该字节数时压缩收益抵不过开销。 */
+    private static final int DEFLATE_THRESHOLD = 512;
+    /** 客户端解压上限，防止异常数据占用过多内存。 */
+    private static final int MAX_INFLATED = 8 * 1024 * 1024;
+    /** 整包列表中的描述上限，与旧格式一致。 */
+    private static final int MAX_DESCRIPTION = 256;
+    /** 详情页单独发送，描述不再受整包格式的 256 字符限制。 */
+    private static final int MAX_PAGED_DESCRIPTION = 2048;
+
+    private CareerCatalogCodec() {}
+
+    static byte[] encode(List<CareerSnapshot> careers) {
+        return encodeCareers(careers, MAX_DESCRIPTION);
+    }
+
+    static List<CareerSnapshot> decode(byte[] encoded) {
+        return decodeCareers(encoded, MAX_DESCRIPTION, "职业列表");
+    }
+
+    /**
+     * 编码分页索引。开头写入完整列表的内容哈希，使任何详情变化都会改变索引本身的哈希。
+     */
+    static byte[] encodeIndex(List<CareerSnapshot> careers, byte[] contentHash) {
+        Map<ResourceLocation, Integer> palette = new HashMap<>();
+        List<ResourceLocation> ordered = new ArrayList<>();
+        for (CareerSnapshot snap : careers) {
+            intern(palette, ordered, snap.icon());
+        }
+
+        FriendlyByteBuf body = new FriendlyByteBuf(Unpooled.buffer(64 + careers.size() * 32));
+        try {
+            body.writeByteArray(contentHash);
+            body.writeCollection(ordered, FriendlyByteBuf::writeResourceLocation);
+            body.writeCollection(careers, (b, snap) -> {
+                b.writeUtf(snap.id());
+                b.writeUtf(snap.name());
+                b.writeVarInt(palette.get(snap.icon()));
+            });
+            return pack(body);
+        } finally {
+            body.release();
+        }
+    }
+
+    static List<CareerIndexEntry> decodeIndex(byte[] encoded) {
+        FriendlyByteBuf buf = unpack(encoded);
+        buf.readByteArray(64);
+        List<ResourceLocation> palette = buf.readList(FriendlyByteBuf::readResourceLocation);
+        List<CareerIndexEntry> index = buf.readList(b -> new CareerIndexEntry(b.readUtf(64), b.readUtf(64), palette.get(b.readVarInt())));
+        if (buf.isReadable()) {
+            throw new IllegalArgumentException("职业索引末尾存在多余数据");
+        }
+        return index;
+    }
+
+    static byte[] encodePage(List<CareerSnapshot> page) {
+        return encodeCareers(page, MAX_PAGED_DESCRIPTION);
+    }
+
+    static List<CareerSnapshot> decodePage(byte[] encoded) {
+        return decodeCareers(encoded, MAX_PAGED_DESCRIPTION, "职业详情页");
+    }
+
+    private static byte[] encodeCareers(List<CareerSnapshot> careers, int maxDescription) {
+        Map<ResourceLocation, Integer> palette = new HashMap<>();
+        List<ResourceLocation> ordered = new ArrayList<>();
+        for (CareerSnapshot snap : careers) {
+            intern(palette, ordered, snap.icon());
+            for (AttributePair attr : snap.attributes()) {
+                intern(palette, ordered, attr.id());
+            }
+            for (ItemStackEntry item : snap.items()) {
+                intern(palette, ordered, item.itemId());
+            }
+        }
+
+        FriendlyByteBuf body = new FriendlyByteBuf(Unpooled.buffer());
+        try {
+            body.writeCollection(ordered, FriendlyByteBuf::writeResourceLocation);
+            body.writeVarInt(careers.size());
+            for (CareerSnapshot snap : careers) {
+                body.writeUtf(snap.id());
+                body.writeUtf(snap.name());
+                body.writeUtf(CareerSnapshot.truncate(snap.description(), maxDescription));
+                body.writeVarInt(palette.get(snap.icon()));
+                body.writeCollection(snap.attributes(), (b, a) -> {
+                    b.writeVarInt(palette.get(a.id()));
+                    b.writeDouble(a.value());
+                });
+                body.writeCollection(snap.items(), (b, i) -> {
+                    b.writeVarInt(palette.get(i.itemId()));
+                    b.writeVarInt(i.count());
+                });
+            }
+            return pack(body);
+        } finally {
+            body.release();
+        }
+    }
+
+    private static List<CareerSnapshot> decodeCareers(byte[] encoded, int maxDescription, String what) {
+        FriendlyByteBuf buf = unpack(encoded);
+        List<ResourceLocation> palette = buf.readList(FriendlyByteBuf::readResourceLocation);
+        int count = buf.readVarInt();
+        List<CareerSnapshot> careers = new ArrayList<>(Math.min(count, 1024));
+        for (int i = 0; i < count; i++) {
+            String id = buf.readUtf(64);
+            String name = buf.readUtf(64);
+            String desc = buf.readUtf(maxDescription);
+            ResourceLocation icon = palette.get(buf.readVarInt());
+            List<AttributePair> attrs = buf.readList(b -> new AttributePair(palette.get(b.readVarInt()), b.readDouble()));
+            List<ItemStackEntry> items = buf.readList(b -> new ItemStackEntry(palette.get(b.readVarInt()), b.readVarInt()));
+            careers.add(new CareerSnapshot(id, name, desc, icon, attrs, items));
+        }
+        if (buf.isReadable()) {
+            throw new IllegalArgumentException(what + "末尾存在多余数据");
+        }
+        return careers;
+    }
+
+    /**
+     * 取出正文字节并分帧，达到阈值时压缩。
+     */
+    private static byte[] pack(FriendlyByteBuf body) {
+        byte[] raw = new byte[body.readableBytes()];
+        body.readBytes(raw);
+        return raw.length < DEFLATE_THRESHOLD ? frame(0, 0, raw, raw.length) : deflate(raw);
+    }
+
+    /**
+     * 解析分帧，返回（必要时解压后的）正文。
+     */
+    private static FriendlyByteBuf unpack(byte[] encoded) {
+        FriendlyByteBuf frame = new FriendlyByteBuf(Unpooled.wrappedBuffer(encoded));
+        int flags = frame.readByte();
+        if ((flags & FLAG_DEFLATED) != 0) {
+            return new FriendlyByteBuf(Unpooled.wrappedBuffer(inflate(frame, frame.readVarInt())));
+        }
+        return new FriendlyByteBuf(frame.slice());
+    }
+
+    private static void intern(Map<ResourceLocation, Integer> palette, List<ResourceLocation> ordered, ResourceLocation id) {
+        if (palette.putIfAbsent(id, ordered.size()) == null) {
+            ordered.add(id);
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] out = new byte[raw.length + 64];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            // 不可压缩的数据原样发送
+            if (length >= raw.length) {
+                return frame(0, 0, raw, raw.length);
+            }
+            return frame(FLAG_DEFLATED, raw.length, out, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(FriendlyByteBuf frame, int inflatedLength) {
+        if (inflatedLength < 0 || inflatedLength > MAX_INFLATED) {
+            throw new IllegalArgumentException("职业列表解压长度异常: " + inflatedLength);
+        }
+        byte[] compressed = new byte[frame.readableBytes()];
+        frame.readBytes(compressed);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[inflatedLength];
+            int length = 0;
+            while (length < inflatedLength && !inflater.finished()) {
+                int read = inflater.inflate(raw, length, inflatedLength - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != inflatedLength || !inflater.finished()) {
+                throw new IllegalArgumentException("职业列表解压后长度不符");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("职业列表压缩数据损坏", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] frame(int flags, int rawLength, byte[] body, int bodyLength) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer(bodyLength + 6));
+        try {
+            buf.writeByte(flags);
+            if ((flags & FLAG_DEFLATED) != 0) {
+                buf.writeVarInt(rawLength);
+            }
+            buf.writeBytes(body, 0, bodyLength);
+            byte[] out = new byte[buf.readableBytes()];
+            buf.readBytes(out);
+            return out;
+        } finally {
+            buf.release();
+        }
+    }
+}
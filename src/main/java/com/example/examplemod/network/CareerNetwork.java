@@ -1,11 +1,15 @@
 package com.example.examplemod.network;
 
 import com.example.examplemod.ExampleMod;
+import com.example.examplemod.career.CareerCatalog;
 import com.example.examplemod.career.CareerConfigManager;
 import com.example.examplemod.career.CareerDefinition;
 import com.example.examplemod.career.CareerPlayerData;
+import com.example.examplemod.career.CareerPlayerState;
 import com.example.examplemod.career.CareerService;
 import com.example.examplemod.client.CareerScreen;
+import com.example.examplemod.client.ClientCareerCache;
+import io.netty.buffer.Unpooled;
 import net.minecraft.client.Minecraft;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
@@ -16,9 +20,16 @@ import net.minecraftforge.network.NetworkEvent;
 import net.minecraftforge.network.NetworkRegistry;
 import net.minecraftforge.network.simple.SimpleChannel;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 
 /**
@@ -26,7 +37,22 @@ import java.util.function.Supplier;
  */
 public final class CareerNetwork {
     private static final String PROTOCOL = "1";
+    /** 未发送握手的客户端：每次都接收完整职业列表。 */
+    public static final int FORMAT_LEGACY = 1;
+    /** 支持按内容哈希复用本地缓存的职业列表。 */
+    public static final int FORMAT_HASHED = 2;
+    /** 在 2 的基础上使用字符串表与压缩的紧凑列表（{@link CareerCatalogCodec}）。 */
+    public static final int FORMAT_COMPACT = 3;
+    /** 只下发轻量索引，详情按页向服务端请求。 */
+    public static final int FORMAT_PAGED = 4;
+    /** 本端客户端在握手中声明的格式。 */
+    public static final int CLIENT_FORMAT = FORMAT_PAGED;
+    /** 分页格式中每个详情页包含的职业数。 */
+    public static final int PAGE_SIZE = 8;
+
     private static int packetId = 0;
+    private static volatile CatalogPayload payload;
+    private static final Map<UUID, Integer> clientFormats = new ConcurrentHashMap<>();
 
     public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
             ResourceLocation.tryParse(ExampleMod.MODID + ":main"),
@@ -41,35 +67,128 @@ public final class CareerNetwork {
         CHANNEL.registerMessage(id(), RequestCareerScreenPacket.class, RequestCareerScreenPacket::encode, RequestCareerScreenPacket::decode, RequestCareerScreenPacket::handle, Optional.of(NetworkDirection.PLAY_TO_SERVER));
         CHANNEL.registerMessage(id(), ChooseCareerPacket.class, ChooseCareerPacket::encode, ChooseCareerPacket::decode, ChooseCareerPacket::handle, Optional.of(NetworkDirection.PLAY_TO_SERVER));
         CHANNEL.registerMessage(id(), CareerDataPacket.class, CareerDataPacket::encode, CareerDataPacket::decode, CareerDataPacket::handle, Optional.of(NetworkDirection.PLAY_TO_CLIENT));
+        // 新增的包只能追加在末尾，保持旧包的编号不变
+        CHANNEL.registerMessage(id(), ClientHelloPacket.class, ClientHelloPacket::encode, ClientHelloPacket::decode, ClientHelloPacket::handle, Optional.of(NetworkDirection.PLAY_TO_SERVER));
+        CHANNEL.registerMessage(id(), CareerCatalogHashPacket.class, CareerCatalogHashPacket::encode, CareerCatalogHashPacket::decode, CareerCatalogHashPacket::handle, Optional.of(NetworkDirection.PLAY_TO_CLIENT));
+        CHANNEL.registerMessage(id(), RequestCareerCatalogPacket.class, RequestCareerCatalogPacket::encode, RequestCareerCatalogPacket::decode, RequestCareerCatalogPacket::handle, Optional.of(NetworkDirection.PLAY_TO_SERVER));
+        CHANNEL.registerMessage(id(), CompactCareerDataPacket.class, CompactCareerDataPacket::encode, CompactCareerDataPacket::decode, CompactCareerDataPacket::handle, Optional.of(NetworkDirection.PLAY_TO_CLIENT));
+        CHANNEL.registerMessage(id(), CareerChoiceRejectedPacket.class, CareerChoiceRejectedPacket::encode, CareerChoiceRejectedPacket::decode, CareerChoiceRejectedPacket::handle, Optional.of(NetworkDirection.PLAY_TO_CLIENT));
+        CHANNEL.registerMessage(id(), CareerIndexPacket.class, CareerIndexPacket::encode, CareerIndexPacket::decode, CareerIndexPacket::handle, Optional.of(NetworkDirection.PLAY_TO_CLIENT));
+        CHANNEL.registerMessage(id(), RequestCareerPagePacket.class, RequestCareerPagePacket::encode, RequestCareerPagePacket::decode, RequestCareerPagePacket::handle, Optional.of(NetworkDirection.PLAY_TO_SERVER));
+        CHANNEL.registerMessage(id(), CareerPagePacket.class, CareerPagePacket::encode, CareerPagePacket::decode, CareerPagePacket::handle, Optional.of(NetworkDirection.PLAY_TO_CLIENT));
     }
 
     private static int id() {
         return packetId++;
     }
 
+    /**
+     * 打开职业界面。声明过哈希格式的客户端只收到内容哈希，本地缓存未命中时再请求完整列表。
+     */
     public static void sendCareerData(ServerPlayer player) {
-        List<CareerDataPacket.CareerSnapshot> careers = new ArrayList<>();
-        for (CareerDefinition def : CareerConfigManager.getCareers()) {
-            careers.add(CareerDataPacket.CareerSnapshot.from(def));
+        String selected = CareerPlayerData.getCareerId(player);
+        int format = clientFormat(player);
+        if (format >= FORMAT_HASHED) {
+            byte[] hash = catalogPayload().forFormat(format).hash();
+            CHANNEL.sendTo(new CareerCatalogHashPacket(hash, selected), player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+        } else {
+            sendFullCareerData(player, selected);
+        }
+    }
+
+    private static void sendFullCareerData(ServerPlayer player, String selected) {
+        int format = clientFormat(player);
+        EncodedCareers encoded = catalogPayload().forFormat(format);
+        Object packet;
+        if (format >= FORMAT_PAGED) {
+            packet = new CareerIndexPacket(encoded.bytes(), selected);
+        } else if (format >= FORMAT_COMPACT) {
+            packet = new CompactCareerDataPacket(encoded.bytes(), selected);
+        } else {
+            packet = CareerDataPacket.preEncoded(encoded.bytes(), selected);
+        }
+        CHANNEL.sendTo(packet, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+    }
+
+    static int clientFormat(ServerPlayer player) {
+        return clientFormats.getOrDefault(player.getUUID(), FORMAT_LEGACY);
+    }
+
+    static void forgetClient(UUID playerId) {
+        clientFormats.remove(playerId);
+    }
+
+    /**
+     * 当前目录按各格式编码后的职业列表字节及其内容哈希；目录快照不变时所有玩家共用同一份，只在配置变更后重新编码。
+     */
+    static CatalogPayload catalogPayload() {
+        CareerCatalog catalog = CareerConfigManager.getCatalog();
+        CatalogPayload current = payload;
+        if (current == null || current.source() != catalog) {
+            List<CareerDataPacket.CareerSnapshot> careers = new ArrayList<>(catalog.size());
+            for (CareerDefinition def : catalog.careers()) {
+                careers.add(CareerDataPacket.CareerSnapshot.from(def));
+            }
+            EncodedCareers legacy = EncodedCareers.of(CareerDataPacket.encodeCareers(careers));
+            current = new CatalogPayload(catalog, List.copyOf(careers), legacy,
+                    EncodedCareers.of(CareerCatalogCodec.encode(careers)),
+                    EncodedCareers.of(CareerCatalogCodec.encodeIndex(careers, legacy.hash())),
+                    new AtomicReferenceArray<>((careers.size() + PAGE_SIZE - 1) / PAGE_SIZE));
+            payload = current;
+        }
+        return current;
+    }
+
+    /**
+     * 目录快照的全部编码结果。详情页在首次被请求时编码，之后复用。
+     */
+    record CatalogPayload(CareerCatalog source,
+                          List<CareerDataPacket.CareerSnapshot> snapshots,
+                          EncodedCareers legacy,
+                          EncodedCareers compact,
+                          EncodedCareers index,
+                          AtomicReferenceArray<byte[]> pages) {
+        EncodedCareers forFormat(int format) {
+            if (format >= FORMAT_PAGED) {
+                return index;
+            }
+            return format >= FORMAT_COMPACT ? compact : legacy;
+        }
+
+        byte[] page(int page) {
+            byte[] encoded = pages.get(page);
+            if (encoded == null) {
+                int from = page * PAGE_SIZE;
+                encoded = CareerCatalogCodec.encodePage(snapshots.subList(from, Math.min(from + PAGE_SIZE, snapshots.size())));
+                pages.compareAndSet(page, null, encoded);
+            }
+            return encoded;
+        }
+    }
+
+    /**
+     * 发送到客户端的列表字节与其内容哈希；客户端缓存直接保存这份字节。
+     */
+    record EncodedCareers(byte[] bytes, byte[] hash) {
+        static EncodedCareers of(byte[] bytes) {
+            return new EncodedCareers(bytes, CareerDataPacket.contentHash(bytes));
         }
-        String selected = CareerPlayerData.getCareerId(player).orElse(null);
-        CHANNEL.sendTo(new CareerDataPacket(careers, selected), player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
     }
 
     public record RequestCareerScreenPacket() {
         public static void encode(RequestCareerScreenPacket pkt, FriendlyByteBuf buf) {}
         public static RequestCareerScreenPacket decode(FriendlyByteBuf buf) { return new RequestCareerScreenPacket(); }
         public static void handle(RequestCareerScreenPacket pkt, Supplier<NetworkEvent.Context> ctx) {
-            ctx.get().enqueueWork(() -> {
-                ServerPlayer player = ctx.get().getSender();
-                if (player != null) {
-                    if (CareerConfigManager.isLockAfterChoice() && CareerPlayerData.getCareerId(player).isPresent()) {
+            ServerPlayer sender = ctx.get().getSender();
+            if (sender != null) {
+                CareerRequestLimiter.submit(sender, player -> {
+                    if (CareerConfigManager.isLockAfterChoice() && CareerPlayerData.hasCareer(player)) {
                         player.sendSystemMessage(Component.literal("已选择职业，面板已锁定"));
                         return;
                     }
                     sendCareerData(player);
-                }
-            });
+                });
+            }
             ctx.get().setPacketHandled(true);
         }
     }
@@ -82,40 +201,140 @@ public final class CareerNetwork {
             return new ChooseCareerPacket(buf.readUtf(64));
         }
         public static void handle(ChooseCareerPacket pkt, Supplier<NetworkEvent.Context> ctx) {
-            ServerPlayer player = ctx.get().getSender();
-            ctx.get().enqueueWork(() -> {
-                if (player == null) {
-                    return;
-                }
-                boolean success = CareerService.chooseCareer(player, pkt.careerId());
-                if (success) {
-                    sendCareerData(player);
+            ServerPlayer sender = ctx.get().getSender();
+            if (sender != null && CareerRequestLimiter.acquire(sender)) {
+                RejectReason reason = validate(sender, pkt.careerId());
+                if (reason != null) {
+                    CareerRequestLimiter.recordRejected();
+                    CHANNEL.sendTo(new CareerChoiceRejectedPacket(pkt.careerId(), reason), sender.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+                } else {
+                    CareerRequestLimiter.enqueue(sender, CareerRequestLimiter.Kind.CHOOSE, player -> {
+                        boolean success = CareerService.chooseCareer(player, pkt.careerId());
+                        if (success) {
+                            sendCareerData(player);
+                        }
+                    });
                 }
-            });
+            }
             ctx.get().setPacketHandled(true);
         }
+
+        /**
+         * 在网络线程上按已发布的目录快照和缓存的玩家状态预先校验，与 {@link CareerService#chooseCareer} 的条件一致。
+         * 玩家状态尚未缓存时交给主线程判断。
+         */
+        static RejectReason validate(ServerPlayer sender, String careerId) {
+            CareerCatalog catalog = CareerConfigManager.publishedCatalog();
+            CareerPlayerState state = CareerPlayerData.peek(sender.getUUID());
+            if (state != null && state.hasCareer()) {
+                if (catalog.lockAfterChoice()) {
+                    return RejectReason.LOCKED;
+                }
+                if (careerId.equals(state.careerId())) {
+                    return RejectReason.ALREADY_SELECTED;
+                }
+            }
+            if (!catalog.contains(careerId)) {
+                return RejectReason.UNKNOWN_CAREER;
+            }
+            return null;
+        }
     }
 
-    public record CareerDataPacket(List<CareerSnapshot> careers, String selectedId) {
+    /**
+     * 职业列表数据包。服务端发送时 careers 为空、encodedCareers 为预先编码好的列表字节；
+     * 客户端解码时两者都有，原始字节用于写入本地缓存。
+     */
+    public record CareerDataPacket(List<CareerSnapshot> careers, byte[] encodedCareers, String selectedId) {
+        public CareerDataPacket(List<CareerSnapshot> careers, String selectedId) {
+            this(careers, null, selectedId);
+        }
+
+        static CareerDataPacket preEncoded(byte[] encodedCareers, String selectedId) {
+            return new CareerDataPacket(List.of(), encodedCareers, selectedId);
+        }
+
+        /**
+         * 按与 {@link #encode} 相同的布局编码职业列表。
+         */
+        static byte[] encodeCareers(List<CareerSnapshot> careers) {
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+            try {
+                buf.writeCollection(careers, (b, snap) -> snap.encode(b));
+                byte[] bytes = new byte[buf.readableBytes()];
+                buf.readBytes(bytes);
+                return bytes;
+            } finally {
+                buf.release();
+            }
+        }
+
         public static void encode(CareerDataPacket pkt, FriendlyByteBuf buf) {
-            buf.writeCollection(pkt.careers, (b, snap) -> snap.encode(b));
+            if (pkt.encodedCareers != null) {
+                buf.writeBytes(pkt.encodedCareers);
+            } else {
+                buf.writeCollection(pkt.careers, (b, snap) -> snap.encode(b));
+            }
             buf.writeBoolean(pkt.selectedId != null);
             if (pkt.selectedId != null) {
                 buf.writeUtf(pkt.selectedId);
             }
         }
 
+        /**
+         * 职业列表字节的内容哈希（SHA-256），服务端与客户端缓存使用同一算法。
+         */
+        public static byte[] contentHash(byte[] encodedCareers) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(encodedCareers);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 不可用", e);
+            }
+        }
+
+        /**
+         * 按格式还原客户端缓存中的职业列表字节。
+         */
+        public static List<CareerSnapshot> decodeCareers(int format, byte[] encodedCareers) {
+            return format >= FORMAT_COMPACT ? CareerCatalogCodec.decode(encodedCareers) : decodeCareers(encodedCareers);
+        }
+
+        /**
+         * 还原分页格式的职业索引。
+         */
+        public static List<CareerIndexEntry> decodeIndex(byte[] encodedIndex) {
+            return CareerCatalogCodec.decodeIndex(encodedIndex);
+        }
+
+        /**
+         * 还原 {@link #encodeCareers} 编码的职业列表。
+         */
+        static List<CareerSnapshot> decodeCareers(byte[] encodedCareers) {
+            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(encodedCareers));
+            List<CareerSnapshot> careers = buf.readList(CareerSnapshot::decode);
+            if (buf.isReadable()) {
+                throw new IllegalArgumentException("职业列表末尾存在多余数据");
+            }
+            return careers;
+        }
+
         public static CareerDataPacket decode(FriendlyByteBuf buf) {
+            int start = buf.readerIndex();
             List<CareerSnapshot> snapshots = buf.readList(CareerSnapshot::decode);
+            byte[] raw = new byte[buf.readerIndex() - start];
+            buf.getBytes(start, raw);
             String selected = buf.readBoolean() ? buf.readUtf(64) : null;
-            return new CareerDataPacket(snapshots, selected);
+            return new CareerDataPacket(snapshots, raw, selected);
         }
 
         public static void handle(CareerDataPacket pkt, Supplier<NetworkEvent.Context> ctx) {
             ctx.get().enqueueWork(() -> {
                 Minecraft mc = Minecraft.getInstance();
                 if (mc.player != null) {
-                    CareerScreen.open(pkt);
+                    if (pkt.encodedCareers != null) {
+                        ClientCareerCache.store(FORMAT_LEGACY, pkt.encodedCareers, pkt.careers);
+                    }
+                    CareerScreen.open(pkt.careers, pkt.selectedId);
                 }
             });
             ctx.get().setPacketHandled(true);
@@ -140,7 +359,7 @@ public final class CareerNetwork {
             void encode(FriendlyByteBuf buf) {
                 buf.writeUtf(id);
                 buf.writeUtf(name);
-                buf.writeUtf(description);
+                buf.writeUtf(truncate(description, 256));
                 buf.writeResourceLocation(icon);
                 buf.writeCollection(attributes, (b, a) -> {
                     b.writeResourceLocation(a.id);
@@ -152,6 +371,17 @@ public final class CareerNetwork {
                 });
             }
 
+            /**
+             * 截断到最多 max 个字符；不拆开代理对，否则客户端会读到孤立的高位代理。
+             */
+            static String truncate(String s, int max) {
+                if (s.length() <= max) {
+                    return s;
+                }
+                int end = Character.isHighSurrogate(s.charAt(max - 1)) ? max - 1 : max;
+                return s.substring(0, end);
+            }
+
             static CareerSnapshot decode(FriendlyByteBuf buf) {
                 String id = buf.readUtf(64);
                 String name = buf.readUtf(64);
@@ -167,4 +397,242 @@ public final class CareerNetwork {
 
         public record ItemStackEntry(ResourceLocation itemId, int count) {}
     }
+
+    /**
+     * 紧凑格式的完整职业列表，只发送给握手声明了 {@link #FORMAT_COMPACT} 的客户端。
+     */
+    public record CompactCareerDataPacket(byte[] encodedCareers, String selectedId) {
+        public static void encode(CompactCareerDataPacket pkt, FriendlyByteBuf buf) {
+            buf.writeByteArray(pkt.encodedCareers);
+            buf.writeBoolean(pkt.selectedId != null);
+            if (pkt.selectedId != null) {
+                buf.writeUtf(pkt.selectedId);
+            }
+        }
+        public static CompactCareerDataPacket decode(FriendlyByteBuf buf) {
+            byte[] encoded = buf.readByteArray();
+            String selected = buf.readBoolean() ? buf.readUtf(64) : null;
+            return new CompactCareerDataPacket(encoded, selected);
+        }
+        public static void handle(CompactCareerDataPacket pkt, Supplier<NetworkEvent.Context> ctx) {
+            ctx.get().enqueueWork(() -> {
+                Minecraft mc = Minecraft.getInstance();
+                if (mc.player == null) {
+                    return;
+                }
+                List<CareerDataPacket.CareerSnapshot> careers = CareerCatalogCodec.decode(pkt.encodedCareers);
+                ClientCareerCache.store(FORMAT_COMPACT, pkt.encodedCareers, careers);
+                CareerScreen.open(careers, pkt.selectedId);
+            });
+            ctx.get().setPacketHandled(true);
+        }
+    }
+
+    /**
+     * 分页索引中的一项：只含列表展示需要的字段。
+     */
+    public record CareerIndexEntry(String id, String name, ResourceLocation icon) {}
+
+    /**
+     * 分页格式的职业索引，只发送给握手声明了 {@link #FORMAT_PAGED} 的客户端。
+     */
+    public record CareerIndexPacket(byte[] encodedIndex, String selectedId) {
+        public static void encode(CareerIndexPacket pkt, FriendlyByteBuf buf) {
+            buf.writeByteArray(pkt.encodedIndex);
+            buf.writeBoolean(pkt.selectedId != null);
+            if (pkt.selectedId != null) {
+                buf.writeUtf(pkt.selectedId);
+            }
+        }
+        public static CareerIndexPacket decode(FriendlyByteBuf buf) {
+            byte[] encoded = buf.readByteArray();
+            String selected = buf.readBoolean() ? buf.readUtf(64) : null;
+            return new CareerIndexPacket(encoded, selected);
+        }
+        public static void handle(CareerIndexPacket pkt, Supplier<NetworkEvent.Context> ctx) {
+            ctx.get().enqueueWork(() -> {
+                Minecraft mc = Minecraft.getInstance();
+                if (mc.player == null) {
+                    return;
+                }
+                List<CareerIndexEntry> index = CareerCatalogCodec.decodeIndex(pkt.encodedIndex);
+                byte[] hash = ClientCareerCache.storeIndex(pkt.encodedIndex, index);
+                CareerScreen.openPaged(hash, index, pkt.selectedId);
+            });
+            ctx.get().setPacketHandled(true);
+        }
+    }
+
+    /**
+     * 请求一页职业详情。indexHash 为客户端所持索引的哈希，与服务端当前目录不一致时改为重新下发界面数据。
+     */
+    public record RequestCareerPagePacket(byte[] indexHash, int page) {
+        public static void encode(RequestCareerPagePacket pkt, FriendlyByteBuf buf) {
+            buf.writeByteArray(pkt.indexHash);
+            buf.writeVarInt(pkt.page);
+        }
+        public static RequestCareerPagePacket decode(FriendlyByteBuf buf) {
+            return new RequestCareerPagePacket(buf.readByteArray(64), buf.readVarInt());
+        }
+        public static void handle(RequestCareerPagePacket pkt, Supplier<NetworkEvent.Context> ctx) {
+            ServerPlayer sender = ctx.get().getSender();
+            // 详情页来自不可变的编码缓存，直接在网络线程回复，不占用主线程
+            if (sender != null && CareerRequestLimiter.acquirePage(sender)) {
+                CatalogPayload current = catalogPayload();
+                if (!Arrays.equals(current.index().hash(), pkt.indexHash)) {
+                    // 目录已更新，直接排到主线程重发索引，不占用玩家的待执行请求槽位
+                    ctx.get().enqueueWork(() -> sendCareerData(sender));
+                } else if (pkt.page >= 0 && pkt.page < current.pages().length()) {
+                    CHANNEL.sendTo(CareerPagePacket.preEncoded(pkt.indexHash, pkt.page, current.page(pkt.page)),
+                            sender.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+                }
+            }
+            ctx.get().setPacketHandled(true);
+        }
+    }
+
+    /**
+     * 一页职业详情。与 {@link CareerDataPacket} 相同，服务端发送预先编码的字节，客户端解码为 careers。
+     */
+    public record CareerPagePacket(byte[] indexHash, int page, List<CareerDataPacket.CareerSnapshot> careers, byte[] encodedCareers) {
+        static CareerPagePacket preEncoded(byte[] indexHash, int page, byte[] encodedCareers) {
+            return new CareerPagePacket(indexHash, page, List.of(), encodedCareers);
+        }
+        public static void encode(CareerPagePacket pkt, FriendlyByteBuf buf) {
+            buf.writeByteArray(pkt.indexHash);
+            buf.writeVarInt(pkt.page);
+            buf.writeBytes(pkt.encodedCareers != null ? pkt.encodedCareers : CareerCatalogCodec.encodePage(pkt.careers));
+        }
+        public static CareerPagePacket decode(FriendlyByteBuf buf) {
+            byte[] hash = buf.readByteArray(64);
+            int page = buf.readVarInt();
+            byte[] encoded = new byte[buf.readableBytes()];
+            buf.readBytes(encoded);
+            return new CareerPagePacket(hash, page, CareerCatalogCodec.decodePage(encoded), null);
+        }
+        public static void handle(CareerPagePacket pkt, Supplier<NetworkEvent.Context> ctx) {
+            ctx.get().enqueueWork(() -> {
+                Minecraft mc = Minecraft.getInstance();
+                if (mc.player == null) {
+                    return;
+                }
+                ClientCareerCache.storePage(pkt.indexHash, pkt.page, pkt.careers);
+                if (mc.screen instanceof CareerScreen screen) {
+                    screen.acceptPage(pkt.indexHash, pkt.page, pkt.careers);
+                }
+            });
+            ctx.get().setPacketHandled(true);
+        }
+    }
+
+    public enum RejectReason {
+        UNKNOWN_CAREER("职业不存在"),
+        LOCKED("已选择职业，无法切换"),
+        ALREADY_SELECTED("已经是该职业");
+
+        private final String message;
+
+        RejectReason(String message) {
+            this.message = message;
+        }
+
+        public String message() {
+            return message;
+        }
+    }
+
+    /**
+     * 职业选择在网络线程上被拒绝时的回复。
+     */
+    public record CareerChoiceRejectedPacket(String careerId, RejectReason reason) {
+        public static void encode(CareerChoiceRejectedPacket pkt, FriendlyByteBuf buf) {
+            buf.writeUtf(pkt.careerId, 64);
+            buf.writeEnum(pkt.reason);
+        }
+        public static CareerChoiceRejectedPacket decode(FriendlyByteBuf buf) {
+            return new CareerChoiceRejectedPacket(buf.readUtf(64), buf.readEnum(RejectReason.class));
+        }
+        public static void handle(CareerChoiceRejectedPacket pkt, Supplier<NetworkEvent.Context> ctx) {
+            ctx.get().enqueueWork(() -> {
+                Minecraft mc = Minecraft.getInstance();
+                if (mc.player == null) {
+                    return;
+                }
+                mc.player.displayClientMessage(Component.literal("职业选择被拒绝：" + pkt.reason.message()), true);
+                if (mc.screen instanceof CareerScreen screen) {
+                    screen.onChoiceRejected();
+                }
+            });
+            ctx.get().setPacketHandled(true);
+        }
+    }
+
+    /**
+     * 客户端进入世界后声明自身支持的数据格式；未发送的客户端按旧格式处理。
+     */
+    public record ClientHelloPacket(int format) {
+        public static void encode(ClientHelloPacket pkt, FriendlyByteBuf buf) {
+            buf.writeVarInt(pkt.format);
+        }
+        public static ClientHelloPacket decode(FriendlyByteBuf buf) {
+            return new ClientHelloPacket(buf.readVarInt());
+        }
+        public static void handle(ClientHelloPacket pkt, Supplier<NetworkEvent.Context> ctx) {
+            ServerPlayer player = ctx.get().getSender();
+            if (player != null) {
+                clientFormats.put(player.getUUID(), Math.min(pkt.format, CLIENT_FORMAT));
+            }
+            ctx.get().setPacketHandled(true);
+        }
+    }
+
+    /**
+     * 只携带职业列表内容哈希的界面数据包，客户端据此查找本地缓存。
+     */
+    public record CareerCatalogHashPacket(byte[] hash, String selectedId) {
+        public static void encode(CareerCatalogHashPacket pkt, FriendlyByteBuf buf) {
+            buf.writeByteArray(pkt.hash);
+            buf.writeBoolean(pkt.selectedId != null);
+            if (pkt.selectedId != null) {
+                buf.writeUtf(pkt.selectedId);
+            }
+        }
+        public static CareerCatalogHashPacket decode(FriendlyByteBuf buf) {
+            byte[] hash = buf.readByteArray(64);
+            String selected = buf.readBoolean() ? buf.readUtf(64) : null;
+            return new CareerCatalogHashPacket(hash, selected);
+        }
+        public static void handle(CareerCatalogHashPacket pkt, Supplier<NetworkEvent.Context> ctx) {
+            ctx.get().enqueueWork(() -> {
+                Minecraft mc = Minecraft.getInstance();
+                if (mc.player == null) {
+                    return;
+                }
+                ClientCareerCache.Cached cached = ClientCareerCache.lookup(pkt.hash);
+                if (cached == null) {
+                    CHANNEL.sendToServer(new RequestCareerCatalogPacket());
+                } else if (cached.index() != null) {
+                    CareerScreen.openPaged(pkt.hash, cached.index(), pkt.selectedId);
+                } else {
+                    CareerScreen.open(cached.careers(), pkt.selectedId);
+                }
+            });
+            ctx.get().setPacketHandled(true);
+        }
+    }
+
+    /**
+     * 客户端缓存未命中时请求完整职业列表。
+     */
+    public record RequestCareerCatalogPacket() {
+        public static void encode(RequestCareerCatalogPacket pkt, FriendlyByteBuf buf) {}
+        public static RequestCareerCatalogPacket decode(FriendlyByteBuf buf) { return new RequestCareerCatalogPacket(); }
+        public static void handle(RequestCareerCatalogPacket pkt, Supplier<NetworkEvent.Context> ctx) {
+            ServerPlayer sender = ctx.get().getSender();
+            if (sender != null) {
+                CareerRequestLimiter.submit(sender, player -> sendFullCareerData(player, CareerPlayerData.getCareerId(player)));
+            }
+            ctx.get().setPacketHandled(true);
+        }
+    }
 }
@@ -0,0 +1,170 @@
+package com.example.examplemod.network;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 客户端职业请求的限流与合并。网络线程上先按玩家令牌桶放行，放行的请求按玩家与请求类型各保留最新的一条，
+ * 在下一个服务端 tick 开始时统一执行，避免异常客户端刷包占用主线程。
+ * 读取类请求不会覆盖尚未执行的职业选择。
+ */
+public final class CareerRequestLimiter {
+    /** 令牌桶容量：允许短时间内连续发出的请求数。 */
+    private static final int BURST = 5;
+    /** 每个令牌的恢复间隔。 */
+    private static final long REFILL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    /** 详情页请求在网络线程直接应答，翻页与预取会连续发出多条，单独使用更宽松的桶。 */
+    private static final int PAGE_BURST = 16;
+    private static final long PAGE_REFILL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+    private static final Map<UUID, Bucket> pageBuckets = new ConcurrentHashMap<>();
+    private static final Map<Slot, Consumer<ServerPlayer>> pending = new ConcurrentHashMap<>();
+    private static final AtomicLong accepted = new AtomicLong();
+    private static final AtomicLong rateLimited = new AtomicLong();
+    private static final AtomicLong coalesced = new AtomicLong();
+    private static final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * 请求类型，每名玩家每种类型各占一个待执行槽位；同一 tick 内按声明顺序执行，选择先于读取。
+     */
+    enum Kind {
+        CHOOSE,
+        READ
+    }
+
+    private record Slot(UUID playerId, Kind kind) {}
+
+    private CareerRequestLimiter() {}
+
+    /**
+     * 在网络线程调用：通过限流后登记为该玩家待执行的读取请求，覆盖尚未执行的旧读取请求。
+     */
+    static void submit(ServerPlayer player, Consumer<ServerPlayer> action) {
+        if (acquire(player)) {
+            enqueue(player, Kind.READ, action);
+        }
+    }
+
+    /**
+     * 在网络线程调用：消耗一个令牌，令牌不足时计入限流并返回 false。
+     */
+    static boolean acquire(ServerPlayer player) {
+        return acquire(buckets.computeIfAbsent(player.getUUID(), k -> new Bucket(BURST, REFILL_NANOS)));
+    }
+
+    /**
+     * 详情页请求的限流，与其它请求分开计数。
+     */
+    static boolean acquirePage(ServerPlayer player) {
+        return acquire(pageBuckets.computeIfAbsent(player.getUUID(), k -> new Bucket(PAGE_BURST, PAGE_REFILL_NANOS)));
+    }
+
+    private static boolean acquire(Bucket bucket) {
+        if (!bucket.tryAcquire()) {
+            rateLimited.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 登记已通过限流的请求，只覆盖该玩家同类型尚未执行的旧请求。
+     */
+    static void enqueue(ServerPlayer player, Kind kind, Consumer<ServerPlayer> action) {
+        accepted.incrementAndGet();
+        if (pending.put(new Slot(player.getUUID(), kind), action) != null) {
+            coalesced.incrementAndGet();
+        }
+    }
+
+    /**
+     * 记录一次在网络线程上直接拒绝、未进入主线程的请求。
+     */
+    static void recordRejected() {
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * 在服务端 tick 开始时执行所有待处理请求，每名玩家每种类型至多一条，先执行选择再执行读取。
+     */
+    static void drain(MinecraftServer server) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (Kind kind : Kind.values()) {
+            Iterator<Map.Entry<Slot, Consumer<ServerPlayer>>> it = pending.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Slot, Consumer<ServerPlayer>> entry = it.next();
+                // 先移除再执行，执行期间到达的新请求留到下一 tick
+                if (entry.getKey().kind() != kind || !pending.remove(entry.getKey(), entry.getValue())) {
+                    continue;
+                }
+                ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey().playerId());
+                if (player != null) {
+                    entry.getValue().accept(player);
+                }
+            }
+        }
+    }
+
+    static void forget(UUID playerId) {
+        buckets.remove(playerId);
+        pageBuckets.remove(playerId);
+        for (Kind kind : Kind.values()) {
+            pending.remove(new Slot(playerId, kind));
+        }
+    }
+
+    static void clear() {
+        buckets.clear();
+        pageBuckets.clear();
+        pending.clear();
+        accepted.set(0);
+        rateLimited.set(0);
+        coalesced.set(0);
+        rejected.set(0);
+    }
+
+    public static Stats stats() {
+        return new Stats(accepted.get(), rateLimited.get(), coalesced.get(), rejected.get(), pending.size());
+    }
+
+    /**
+     * 自服务端启动以来的请求统计：accepted 为进入主线程队列的请求数，其中 coalesced 条被同一玩家同类型的新请求覆盖；
+     * rejected 为在网络线程上校验失败而直接拒绝的职业选择。
+     */
+    public record Stats(long accepted, long rateLimited, long coalesced, long rejected, int pending) {}
+
+    private static final class Bucket {
+        private final int capacity;
+        private final long refillNanos;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        Bucket(int capacity, long refillNanos) {
+            this.capacity = capacity;
+            this.refillNanos = refillNanos;
+            this.tokens = capacity;
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefill) / refillNanos);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}